@@ -0,0 +1,59 @@
+package com.minka.security.bench;
+
+import com.minka.security.HashUtils;
+import com.minka.security.RecordingMetricsListener;
+import com.minka.security.SecurityMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// HashUtils serialization and SHA-256 over realistic payloads; hashDataInstrumented compares
+// SecurityMetrics off (the default) with a RecordingMetricsListener installed
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashingBenchmark {
+    @Benchmark
+    public String serializeData(Payloads p) throws Exception {
+        return HashUtils.serializeData(p.data);
+    }
+
+    @Benchmark
+    public String createHash(Payloads p) throws Exception {
+        return HashUtils.createHash(p.data);
+    }
+
+    @Benchmark
+    public byte[] hashDataStreaming(Payloads p) throws Exception {
+        return HashUtils.hashData(p.data);
+    }
+
+    @Benchmark
+    public String createSignatureDigest(Payloads p) throws Exception {
+        return HashUtils.createSignatureDigest(p.hash, p.signatureCustom);
+    }
+
+    @Benchmark
+    public byte[] hashDataInstrumented(Payloads p, Metrics m) throws Exception {
+        return HashUtils.hashData(p.data);
+    }
+
+    // SecurityMetrics listener for the trial: off or recording
+    @State(Scope.Benchmark)
+    public static class Metrics {
+        @Param({"off", "recording"})
+        public String listener;
+
+        @Setup
+        public void setup() {
+            SecurityMetrics.setListener(listener.equals("recording") ? new RecordingMetricsListener() : null);
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityMetrics.setListener(null);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.minka.security.bench;
+
+import com.minka.security.JwtMinter;
+import com.minka.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JWT minting: JwtUtils.signJWT per call vs the prepared JwtMinter (signing and cached token)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private Map<String, Object> payload;
+    private JwtMinter minter;
+
+    @Setup
+    public void setup() throws Exception {
+        payload = new HashMap<>();
+        payload.put("iss", Payloads.SIGNER);
+        payload.put("sub", "signer:" + Payloads.SIGNER);
+        payload.put("aud", "hector-ledger-test");
+        long now = System.currentTimeMillis() / 1000L;
+        payload.put("iat", now);
+        payload.put("exp", now + 60);
+        minter = new JwtMinter(Payloads.SECRET_KEY, Payloads.PUBLIC_KEY);
+    }
+
+    @Benchmark
+    public String signJWT() throws Exception {
+        return JwtUtils.signJWT(payload, Payloads.SECRET_KEY, Payloads.PUBLIC_KEY);
+    }
+
+    @Benchmark
+    public String minterSign() throws Exception {
+        return minter.sign(payload);
+    }
+
+    @Benchmark
+    public String minterCachedToken() throws Exception {
+        return minter.tokenForSigner(Payloads.SIGNER, "hector-ledger-test");
+    }
+}
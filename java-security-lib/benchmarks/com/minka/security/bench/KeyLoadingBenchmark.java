@@ -0,0 +1,42 @@
+package com.minka.security.bench;
+
+import com.minka.security.KeyUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// KeyUtils loading: DER file, Base64 PKCS#8 and Base64 public keys
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyLoadingBenchmark {
+    private String base64PrivateKey;
+
+    @Setup
+    public void setup() throws Exception {
+        base64PrivateKey = Base64.getEncoder().encodeToString(Files.readAllBytes(Paths.get(Payloads.DER_KEY_PATH)));
+    }
+
+    @Benchmark
+    public PrivateKey loadPrivateKeyFromDerFile() throws Exception {
+        return KeyUtils.loadEd25519PrivateKeyFromDerFile(Payloads.DER_KEY_PATH);
+    }
+
+    @Benchmark
+    public PrivateKey loadPrivateKeyFromBase64() throws Exception {
+        return KeyUtils.loadEd25519PrivateKeyFromBase64(base64PrivateKey);
+    }
+
+    @Benchmark
+    public PublicKey loadPublicKeyFromRawBase64() throws Exception {
+        return KeyUtils.loadEd25519PublicKeyFromRawBase64(Payloads.PUBLIC_KEY);
+    }
+}
@@ -0,0 +1,142 @@
+package com.minka.security.bench;
+
+import com.minka.security.HashUtils;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Benchmark payloads: the anchor and intent maps from the *SecurityTest drivers, plus large multi-claim intents.
+// The fixtures are kept here (not shared with the test drivers) so the benchmarks only depend on main sources.
+@State(Scope.Benchmark)
+public class Payloads {
+    // Test signer and its keys (the htorohn identity of the test drivers)
+    public static final String SIGNER = "htorohn";
+    public static final String PUBLIC_KEY = "YiY9jEkH3wldB7YWGvc/Ht2VgsYY7JU2OSSaE7DvtYw=";
+    public static final String SECRET_KEY = "fiCwMZ406y4uzpCvB+bZZAemToHooagwLGn15We+m0s=";
+    public static final String DER_KEY_PATH = "htorohn-key.der";
+
+    // anchor = AnchorApiSecurityTest data; intent-N = IntentApiSecurityTest data with N claims
+    @Param({"anchor", "intent-1", "intent-50", "intent-500"})
+    public String payload;
+
+    public Object data;
+    public Map<String, Object> signatureCustom;
+    public String hash;
+    public String signatureDigest;
+
+    @Setup
+    public void setup() throws Exception {
+        if (payload.equals("anchor")) {
+            data = anchorData("3123454333");
+            signatureCustom = signatureCustom("active", "2025-01-01T00:00:00.000Z");
+        } else {
+            int claims = Integer.parseInt(payload.substring("intent-".length()));
+            data = intentData("20250101000000000ALI123456789", claims);
+            signatureCustom = signatureCustom("created", "2025-01-01T00:00:00.000Z");
+        }
+        hash = HashUtils.createHash(data);
+        signatureDigest = HashUtils.createSignatureDigest(hash, signatureCustom);
+    }
+
+    // Anchor data as built in AnchorApiSecurityTest
+    public static Map<String, Object> anchorData(String handle) {
+        Map<String, Object> anchorData = new HashMap<>();
+        anchorData.put("handle", handle);
+        anchorData.put("target", "svgs:20359303@bancorojo.co");
+        anchorData.put("symbol", "cop");
+        anchorData.put("schema", "individual");
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("lastName", "Carrasquillo");
+        custom.put("aliasType", "tel");
+        custom.put("firstName", "Alejandra");
+        custom.put("secondName", "Lourdes");
+        custom.put("routingCode", "TFY");
+        custom.put("documentType", "cc");
+        custom.put("documentNumber", "1239374708");
+        custom.put("secondLastName", "Palomo");
+        custom.put("participantCode", "8224");
+        anchorData.put("custom", custom);
+        return anchorData;
+    }
+
+    // Intent data as built in IntentApiSecurityTest, with the given number of claims
+    public static Map<String, Object> intentData(String handle, int claimCount) {
+        List<Map<String, Object>> access = new ArrayList<>();
+        Map<String, Object> anyRule = new HashMap<>();
+        anyRule.put("action", "any");
+        Map<String, Object> signerMap = new HashMap<>();
+        signerMap.put("public", PUBLIC_KEY);
+        anyRule.put("signer", signerMap);
+        access.add(anyRule);
+        Map<String, Object> readRule = new HashMap<>();
+        readRule.put("action", "read");
+        Map<String, Object> bearerMap = new HashMap<>();
+        Map<String, Object> $signerMap = new HashMap<>();
+        $signerMap.put("public", PUBLIC_KEY);
+        bearerMap.put("$signer", $signerMap);
+        readRule.put("bearer", bearerMap);
+        access.add(readRule);
+
+        Object[] claims = new Object[claimCount];
+        for (int i = 0; i < claimCount; i++) {
+            claims[i] = claim(i);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("handle", handle);
+        data.put("claims", claims);
+        data.put("schema", "transfer");
+        data.put("access", access);
+        Map<String, Object> config = new HashMap<>();
+        config.put("commit", "auto");
+        data.put("config", config);
+        return data;
+    }
+
+    // One transfer claim; the index varies ids and amount so claims are distinct
+    public static Map<String, Object> claim(int i) {
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("action", "transfer");
+        Map<String, Object> source = new HashMap<>();
+        source.put("handle", "svgs:1234567@bac.com.hn");
+        Map<String, Object> sourceCustom = new HashMap<>();
+        sourceCustom.put("entityType", "individual");
+        sourceCustom.put("idNumber", String.valueOf(1234567 + i));
+        sourceCustom.put("idType", "txid");
+        sourceCustom.put("name", "Hector Toro");
+        sourceCustom.put("phoneNumber", "98761065");
+        source.put("custom", sourceCustom);
+        claim.put("source", source);
+        Map<String, Object> target = new HashMap<>();
+        target.put("handle", "svgs:1234567@ficohsa.com.hn");
+        Map<String, Object> targetCustom = new HashMap<>();
+        targetCustom.put("entityType", "individual");
+        targetCustom.put("idNumber", String.valueOf(7654321 + i));
+        targetCustom.put("idType", "txid");
+        targetCustom.put("name", "Alfredo del Cid");
+        target.put("custom", targetCustom);
+        claim.put("target", target);
+        Map<String, Object> symbol = new HashMap<>();
+        symbol.put("handle", "cop");
+        claim.put("symbol", symbol);
+        claim.put("amount", 400 + i);
+        return claim;
+    }
+
+    // signatureCustom block with ISO8601 timestamps
+    public static Map<String, Object> signatureCustom(String status, String nowIso) {
+        Map<String, Object> signatureCustom = new HashMap<>();
+        signatureCustom.put("moment", nowIso);
+        signatureCustom.put("status", status);
+        signatureCustom.put("consented", nowIso);
+        signatureCustom.put("received", nowIso);
+        signatureCustom.put("dispatched", nowIso);
+        return signatureCustom;
+    }
+}
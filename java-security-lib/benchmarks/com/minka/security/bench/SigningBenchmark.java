@@ -0,0 +1,54 @@
+package com.minka.security.bench;
+
+import com.minka.security.Ed25519SigningEngine;
+import com.minka.security.KeyUtils;
+import com.minka.security.ProofBuilder;
+import com.minka.security.SignatureUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.PrivateKey;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Ed25519 signing: SignatureUtils per call, the reusable engine, and the full proof pipelines
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SigningBenchmark {
+    private PrivateKey privateKey;
+    private Ed25519SigningEngine engine;
+    private ProofBuilder proofBuilder;
+
+    @Setup
+    public void setup() throws Exception {
+        privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(Payloads.DER_KEY_PATH);
+        engine = new Ed25519SigningEngine(privateKey);
+        proofBuilder = new ProofBuilder(engine, Payloads.PUBLIC_KEY);
+    }
+
+    @Benchmark
+    public byte[] signEd25519(Payloads p) throws Exception {
+        return SignatureUtils.signEd25519(p.signatureDigest, privateKey);
+    }
+
+    @Benchmark
+    public byte[] engineSignHexDigest(Payloads p) throws Exception {
+        return engine.signHexDigest(p.signatureDigest);
+    }
+
+    // Hash + digest + sign as the test drivers do it by hand
+    @Benchmark
+    public String handBuiltProof(Payloads p) throws Exception {
+        String hash = com.minka.security.HashUtils.createHash(p.data);
+        String digest = com.minka.security.HashUtils.createSignatureDigest(hash, p.signatureCustom);
+        return SignatureUtils.toBase64(SignatureUtils.signEd25519(digest, privateKey));
+    }
+
+    @Benchmark
+    public Map<String, Object> proofBuilder(Payloads p) throws Exception {
+        return proofBuilder.createProof(p.data, p.signatureCustom);
+    }
+}
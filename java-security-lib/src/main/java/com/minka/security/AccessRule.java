@@ -0,0 +1,71 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// Access rule of an intent: { action, bearer: { $signer: { public } } } or { action, signer: { public } }
+public final class AccessRule extends CanonicalRecord {
+    private static final SerializedString ACTION = field("action");
+    private static final SerializedString BEARER = field("bearer");
+    private static final SerializedString SIGNER = field("signer");
+    private static final SerializedString $SIGNER = field("$signer");
+    private static final SerializedString PUBLIC = field("public");
+
+    private final String action;
+    private final String signerPublicKey;
+    private final String bearerPublicKey;
+
+    private AccessRule(String action, String signerPublicKey, String bearerPublicKey) {
+        this.action = action;
+        this.signerPublicKey = signerPublicKey;
+        this.bearerPublicKey = bearerPublicKey;
+    }
+
+    // Grants the action to the signer holding the public key
+    public static AccessRule signer(String action, String publicKey) {
+        return new AccessRule(action, publicKey, null);
+    }
+
+    // Grants the action to bearers of a token signed by the public key
+    public static AccessRule bearer(String action, String publicKey) {
+        return new AccessRule(action, null, publicKey);
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getSignerPublicKey() {
+        return signerPublicKey;
+    }
+
+    public String getBearerPublicKey() {
+        return bearerPublicKey;
+    }
+
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeString(gen, ACTION, action);
+        if (bearerPublicKey != null) {
+            gen.writeFieldName(BEARER);
+            gen.writeStartObject();
+            gen.writeFieldName($SIGNER);
+            writePublicKey(gen, bearerPublicKey);
+            gen.writeEndObject();
+        }
+        if (signerPublicKey != null) {
+            gen.writeFieldName(SIGNER);
+            writePublicKey(gen, signerPublicKey);
+        }
+    }
+
+    private static void writePublicKey(JsonGenerator gen, String publicKey) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(PUBLIC);
+        gen.writeString(publicKey);
+        gen.writeEndObject();
+    }
+}
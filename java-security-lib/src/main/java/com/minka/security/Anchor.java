@@ -0,0 +1,101 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Anchor data: { custom, handle, schema, symbol, target }
+public final class Anchor extends CanonicalRecord {
+    private static final SerializedString CUSTOM = field("custom");
+    private static final SerializedString HANDLE = field("handle");
+    private static final SerializedString SCHEMA = field("schema");
+    private static final SerializedString SYMBOL = field("symbol");
+    private static final SerializedString TARGET = field("target");
+
+    private final Map<String, Object> custom;
+    private final String handle;
+    private final String schema;
+    private final String symbol;
+    private final String target;
+
+    private Anchor(Builder b) {
+        this.custom = copy(b.custom);
+        this.handle = b.handle;
+        this.schema = b.schema;
+        this.symbol = b.symbol;
+        this.target = b.target;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Map<String, Object> getCustom() {
+        return custom;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeMap(gen, provider, CUSTOM, custom);
+        writeString(gen, HANDLE, handle);
+        writeString(gen, SCHEMA, schema);
+        writeString(gen, SYMBOL, symbol);
+        writeString(gen, TARGET, target);
+    }
+
+    public static final class Builder {
+        private Map<String, Object> custom;
+        private String handle;
+        private String schema;
+        private String symbol;
+        private String target;
+
+        public Builder custom(Map<String, Object> custom) {
+            this.custom = custom;
+            return this;
+        }
+
+        public Builder handle(String handle) {
+            this.handle = handle;
+            return this;
+        }
+
+        public Builder schema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Builder symbol(String symbol) {
+            this.symbol = symbol;
+            return this;
+        }
+
+        public Builder target(String target) {
+            this.target = target;
+            return this;
+        }
+
+        public Anchor build() {
+            return new Anchor(this);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.minka.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Hashes and signs many payloads in parallel (bulk anchor/intent creation).
+// Work runs on a configurable executor (ForkJoinPool by default; a virtual-thread executor
+// works too), results come back in input order, and a failing item is reported in its own
+// Result without aborting the rest of the batch.
+public final class BatchSigner {
+    private final ProofBuilder proofBuilder;
+    private final Executor executor;
+
+    // Uses the common ForkJoinPool
+    public BatchSigner(ProofBuilder proofBuilder) {
+        this(proofBuilder, ForkJoinPool.commonPool());
+    }
+
+    public BatchSigner(ProofBuilder proofBuilder, Executor executor) {
+        this.proofBuilder = proofBuilder;
+        this.executor = executor;
+    }
+
+    // Signs all items; blocks until the whole batch is done
+    public List<Result> signAll(List<Item> items) {
+        return signAllAsync(items).join();
+    }
+
+    // Signs all items of the stream (the stream is consumed up front to fix the order)
+    public List<Result> signAll(Stream<Item> items) {
+        return signAll(items.collect(Collectors.toList()));
+    }
+
+    // Starts signing all items; the future completes with one Result per item, in input order
+    public CompletableFuture<List<Result>> signAllAsync(List<Item> items) {
+        Result[] results = new Result[items.size()];
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[results.length];
+        for (int i = 0; i < results.length; i++) {
+            final int index = i;
+            final Item item = items.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> results[index] = signOne(index, item), executor);
+        }
+        return CompletableFuture.allOf(tasks).thenApply(done -> Arrays.asList(results));
+    }
+
+    private Result signOne(int index, Item item) {
+        try {
+            return new Result(index, proofBuilder.sign(item.getData(), item.getSignatureCustom()), null);
+        } catch (Exception e) {
+            return new Result(index, null, e);
+        }
+    }
+
+    // Collects the successfully signed records, in input order
+    public static List<ProofBuilder.SignedRecord> records(List<Result> results) {
+        List<ProofBuilder.SignedRecord> records = new ArrayList<>(results.size());
+        for (Result result : results) {
+            if (result.isSuccess()) {
+                records.add(result.getRecord());
+            }
+        }
+        return records;
+    }
+
+    // One payload to sign with its signatureCustom block
+    public static final class Item {
+        private final Object data;
+        private final Map<String, Object> signatureCustom;
+
+        public Item(Object data, Map<String, Object> signatureCustom) {
+            this.data = data;
+            this.signatureCustom = signatureCustom;
+        }
+
+        public static Item of(Object data, Map<String, Object> signatureCustom) {
+            return new Item(data, signatureCustom);
+        }
+
+        public Object getData() {
+            return data;
+        }
+
+        public Map<String, Object> getSignatureCustom() {
+            return signatureCustom;
+        }
+    }
+
+    // Outcome for one item: either a signed record or the error that item hit
+    public static final class Result {
+        private final int index;
+        private final ProofBuilder.SignedRecord record;
+        private final Exception error;
+
+        Result(int index, ProofBuilder.SignedRecord record, Exception error) {
+            this.index = index;
+            this.record = record;
+            this.error = error;
+        }
+
+        // Position of the item in the input
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        // Signed record, or null if the item failed
+        public ProofBuilder.SignedRecord getRecord() {
+            return record;
+        }
+
+        // Failure cause, or null if the item succeeded
+        public Exception getError() {
+            return error;
+        }
+    }
+}
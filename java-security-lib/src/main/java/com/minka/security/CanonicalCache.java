@@ -0,0 +1,361 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opt-in cache of the stable JSON of payload sub-objects, for documents hashed more than once
+// (on creation, when a co-signer adds a proof, on verification). When a document is hashed
+// through the cache, each claim and each access/custom block is looked up by content; a hit
+// splices its cached JSON into the digest instead of serializing and key-sorting it again,
+// so re-hashing a large, mostly unchanged intent only pays for what changed.
+// Hashes are identical to HashUtils.hashData. Map sub-objects are keyed by content: the cache
+// keeps its own deep copy, so later mutation of the caller's map cannot return stale JSON, and
+// sub-objects holding anything but JSON values (strings, numbers, booleans, maps, lists,
+// typed records) are never cached. A map hashed before is found again by identity and only
+// compared with its snapshot; typed records are immutable and keyed by identity alone.
+// Bounded by entry count and total cached characters, least recently used entries are evicted
+// first. Thread-safe.
+public final class CanonicalCache {
+    // Default maximum number of cached sub-objects
+    public static final int DEFAULT_MAX_ENTRIES = 16_384;
+    // Default maximum total length of the cached JSON (chars)
+    public static final long DEFAULT_MAX_CHARS = 32L * 1024 * 1024;
+
+    // Top-level fields whose values (or array elements) are cached
+    private static final Set<String> SUBTREE_FIELDS = new HashSet<>(Arrays.asList("access", "claims", "custom"));
+
+    // Serializer provider attribute that points typed records at the active cache
+    static final Object ATTRIBUTE = CanonicalCache.class;
+
+    private static final Object UNCACHEABLE = new Object();
+
+    private final int maxEntries;
+    private final long maxChars;
+    private final LinkedHashMap<ContentKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Identity, Entry> byIdentity = new HashMap<>();
+    private long chars;
+    private final ObjectWriter json;
+    private final ObjectWriter plain = HashUtils.canonicalWriter(); // Misses: not reported as a nested SERIALIZE
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CanonicalCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_CHARS);
+    }
+
+    public CanonicalCache(int maxEntries, long maxChars) {
+        if (maxEntries < 1 || maxChars < 1) {
+            throw new IllegalArgumentException("maxEntries and maxChars must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxChars = maxChars;
+        this.json = HashUtils.canonicalWriter().withAttribute(ATTRIBUTE, this);
+    }
+
+    // Same result as HashUtils.hashData, reusing cached sub-objects
+    public byte[] hashData(Object data) throws IOException {
+        return HashUtils.hashData(new Document(data), json);
+    }
+
+    // Same result as HashUtils.createHash, reusing cached sub-objects
+    public String createHash(Object data) throws IOException {
+        return HashUtils.bytesToHex(hashData(data));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Hits / lookups, 0 before the first lookup
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Total length of the cached JSON (chars)
+    public synchronized long cachedChars() {
+        return chars;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        byIdentity.clear();
+        chars = 0;
+    }
+
+    // Writes one document: top-level map fields in sorted order, with subtree fields through the cache
+    private void writeDocument(Object data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (data instanceof CanonicalRecord) {
+            ((CanonicalRecord) data).write(gen, provider); // Records look the cache up through ATTRIBUTE
+            return;
+        }
+        if (!(data instanceof Map) || !hasStringKeys((Map<?, ?>) data)) {
+            provider.defaultSerializeValue(data, gen);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) data;
+        // Same order as ORDER_MAP_ENTRIES_BY_KEYS: sorted maps keep their own order
+        Map<String, Object> sorted = map instanceof SortedMap ? map : new TreeMap<>(map);
+        gen.writeStartObject(map);
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            gen.writeFieldName(entry.getKey());
+            Object value = entry.getValue();
+            if (!SUBTREE_FIELDS.contains(entry.getKey())) {
+                provider.defaultSerializeValue(value, gen);
+            } else if (value instanceof List) {
+                gen.writeStartArray();
+                for (Object element : (List<?>) value) {
+                    write(element, gen, provider);
+                }
+                gen.writeEndArray();
+            } else if (value instanceof Object[]) {
+                gen.writeStartArray();
+                for (Object element : (Object[]) value) {
+                    write(element, gen, provider);
+                }
+                gen.writeEndArray();
+            } else {
+                write(value, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    // Writes a sub-object from the cache, serializing and caching it on a miss
+    void write(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!(value instanceof CanonicalRecord) && !(value instanceof Map)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        char[] cached = lookup(value);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            cached = plain.writeValueAsString(value).toCharArray();
+            Object snapshot = value instanceof CanonicalRecord ? value : copy(value);
+            if (snapshot != UNCACHEABLE) {
+                put(value, new ContentKey(snapshot, value instanceof CanonicalRecord), cached);
+            }
+        }
+        gen.writeRawValue(cached, 0, cached.length);
+    }
+
+    // Cached JSON for the value, or null. A map seen before is found by identity and checked
+    // against the snapshot (no hashing); other maps are found by content.
+    private synchronized char[] lookup(Object value) {
+        Entry entry;
+        if (value instanceof CanonicalRecord) {
+            entry = entries.get(new ContentKey(value, true));
+        } else {
+            entry = byIdentity.get(new Identity(value));
+            if (entry != null && entry.key.value.equals(value)) {
+                entries.get(entry.key); // Refreshes the LRU position
+                return entry.json;
+            }
+            entry = entries.get(new ContentKey(value, false));
+            if (entry != null) {
+                register(value, entry);
+            }
+        }
+        return entry == null ? null : entry.json;
+    }
+
+    private synchronized void put(Object value, ContentKey key, char[] json) {
+        Entry entry = new Entry(key, json);
+        Entry previous = entries.put(key, entry);
+        chars += json.length;
+        if (previous != null) {
+            chars -= previous.json.length;
+            unregister(previous);
+        }
+        if (!key.identity) {
+            register(value, entry);
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || chars > maxChars) && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            chars -= evicted.json.length;
+            unregister(evicted);
+            evictions.increment();
+        }
+    }
+
+    // Points the caller's map at the entry (one caller map per entry, so the index stays bounded)
+    private void register(Object value, Entry entry) {
+        unregister(entry);
+        entry.owner = new Identity(value);
+        byIdentity.put(entry.owner, entry);
+    }
+
+    private void unregister(Entry entry) {
+        if (entry.owner != null) {
+            byIdentity.remove(entry.owner, entry);
+            entry.owner = null;
+        }
+    }
+
+    // Deep copy made of JSON values only, or UNCACHEABLE
+    private static Object copy(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof Float || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger || value instanceof BigDecimal
+                || value instanceof CanonicalRecord) {
+            return value;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map instanceof SortedMap || !hasStringKeys(map)) {
+                return UNCACHEABLE; // Order or key serialization may differ from a plain copy
+            }
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size() * 2);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object element = copy(entry.getValue());
+                if (element == UNCACHEABLE) {
+                    return UNCACHEABLE;
+                }
+                copy.put(entry.getKey(), element);
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                Object element = copy(item);
+                if (element == UNCACHEABLE) {
+                    return UNCACHEABLE;
+                }
+                copy.add(element);
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        return UNCACHEABLE;
+    }
+
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Cache key: a typed record by identity (records are immutable) or a map snapshot by content
+    private static final class ContentKey {
+        final Object value;
+        final boolean identity;
+        private final int hash;
+
+        ContentKey(Object value, boolean identity) {
+            this.value = value;
+            this.identity = identity;
+            this.hash = identity ? System.identityHashCode(value) : value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ContentKey)) {
+                return false;
+            }
+            ContentKey key = (ContentKey) other;
+            return identity ? key.value == value : !key.identity && hash == key.hash && value.equals(key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Weak identity key for a caller's map, so the index does not keep caller objects alive
+    private static final class Identity {
+        private final WeakReference<Object> ref;
+        private final int hash;
+
+        Identity(Object value) {
+            this.ref = new WeakReference<>(value);
+            this.hash = System.identityHashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Object value = ref.get();
+            return other instanceof Identity && value != null && ((Identity) other).ref.get() == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final ContentKey key;
+        final char[] json;
+        Identity owner; // Caller map last seen with this content, if any
+
+        Entry(ContentKey key, char[] json) {
+            this.key = key;
+            this.json = json;
+        }
+    }
+
+    // Root value hashed through the cache
+    @JsonSerialize(using = DocumentSerializer.class)
+    private static final class Document {
+        final Object data;
+
+        Document(Object data) {
+            this.data = data;
+        }
+    }
+
+    private static final class DocumentSerializer extends JsonSerializer<Document> {
+        @Override
+        public void serialize(Document document, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ((CanonicalCache) provider.getAttribute(ATTRIBUTE)).writeDocument(document.data, gen, provider);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Base of the typed payload classes (Intent, Claim, Party, Anchor, AccessRule).
+// Each subclass writes its fields in canonical (sorted) order with pre-encoded field names,
+// so hashing one goes straight from the fields into the generator: no reflection, no
+// runtime key sort and no intermediate Map. The JSON is byte-identical to the equivalent
+// nested Map serialized by HashUtils, so both forms produce the same hash and signature.
+// Null fields are omitted, like a Map without that key; free-form custom/config maps are
+// written through the mapper and keep their runtime key sort. When hashed through a
+// CanonicalCache, record lists and custom/config maps are taken from the cache.
+@JsonSerialize(using = CanonicalRecord.Serializer.class)
+public abstract class CanonicalRecord {
+    // Writes the fields, in sorted order, between the object's braces
+    abstract void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+    // Pre-encoded field name
+    static SerializedString field(String name) {
+        return new SerializedString(name);
+    }
+
+    static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    // Writes a free-form map (sorted by the mapper's ORDER_MAP_ENTRIES_BY_KEYS)
+    static void writeMap(JsonGenerator gen, SerializerProvider provider, SerializedString name, Map<String, Object> value)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            CanonicalCache cache = (CanonicalCache) provider.getAttribute(CanonicalCache.ATTRIBUTE);
+            if (cache != null) {
+                cache.write(value, gen, provider);
+            } else {
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+    }
+
+    static void writeRecord(JsonGenerator gen, SerializerProvider provider, SerializedString name, CanonicalRecord value)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            value.write(gen, provider);
+        }
+    }
+
+    static void writeRecords(JsonGenerator gen, SerializerProvider provider, SerializedString name,
+                             List<? extends CanonicalRecord> values) throws IOException {
+        if (values != null) {
+            gen.writeFieldName(name);
+            CanonicalCache cache = (CanonicalCache) provider.getAttribute(CanonicalCache.ATTRIBUTE);
+            gen.writeStartArray();
+            for (CanonicalRecord value : values) {
+                if (cache != null) {
+                    cache.write(value, gen, provider);
+                } else {
+                    value.write(gen, provider);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    // Immutable copies for the builders
+    static Map<String, Object> copy(Map<String, Object> map) {
+        return map == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    static <T> List<T> copy(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    final void write(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(this);
+        writeFields(gen, provider);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return HashUtils.serializeData(this);
+        } catch (IOException e) {
+            return getClass().getSimpleName();
+        }
+    }
+
+    // Jackson entry point, picked up by any ObjectMapper through the class annotation
+    static final class Serializer extends JsonSerializer<CanonicalRecord> {
+        @Override
+        public void serialize(CanonicalRecord value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.write(gen, provider);
+        }
+    }
+}
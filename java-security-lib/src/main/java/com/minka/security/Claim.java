@@ -0,0 +1,137 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Map;
+
+// One intent claim: { action, amount, custom, source, symbol: { handle }, target }; unset fields are omitted
+public final class Claim extends CanonicalRecord {
+    private static final SerializedString ACTION = field("action");
+    private static final SerializedString AMOUNT = field("amount");
+    private static final SerializedString CUSTOM = field("custom");
+    private static final SerializedString SOURCE = field("source");
+    private static final SerializedString SYMBOL = field("symbol");
+    private static final SerializedString TARGET = field("target");
+    private static final SerializedString HANDLE = field("handle");
+
+    private final String action;
+    private final Long amount;
+    private final Map<String, Object> custom;
+    private final Party source;
+    private final String symbol;
+    private final Party target;
+
+    private Claim(Builder b) {
+        this.action = b.action;
+        this.amount = b.amount;
+        this.custom = copy(b.custom);
+        this.source = b.source;
+        this.symbol = b.symbol;
+        this.target = b.target;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Transfer of amount (minor units) of symbol from source to target
+    public static Claim transfer(Party source, Party target, String symbol, long amount) {
+        return builder().action("transfer").source(source).target(target).symbol(symbol).amount(amount).build();
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    // Amount in minor units (null if not set)
+    public Long getAmount() {
+        return amount;
+    }
+
+    public Map<String, Object> getCustom() {
+        return custom;
+    }
+
+    public Party getSource() {
+        return source;
+    }
+
+    // Handle of the symbol, written as { "handle": symbol }
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public Party getTarget() {
+        return target;
+    }
+
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeString(gen, ACTION, action);
+        if (amount != null) {
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(amount.longValue());
+        }
+        writeMap(gen, provider, CUSTOM, custom);
+        writeRecord(gen, provider, SOURCE, source);
+        if (symbol != null) {
+            gen.writeFieldName(SYMBOL);
+            gen.writeStartObject();
+            writeString(gen, HANDLE, symbol);
+            gen.writeEndObject();
+        }
+        writeRecord(gen, provider, TARGET, target);
+    }
+
+    public static final class Builder {
+        private String action;
+        private Long amount;
+        private Map<String, Object> custom;
+        private Party source;
+        private String symbol;
+        private Party target;
+
+        public Builder action(String action) {
+            this.action = action;
+            return this;
+        }
+
+        public Builder amount(long amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        // Null leaves the amount out of the claim
+        public Builder amount(Long amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder custom(Map<String, Object> custom) {
+            this.custom = custom;
+            return this;
+        }
+
+        public Builder source(Party source) {
+            this.source = source;
+            return this;
+        }
+
+        public Builder symbol(String symbol) {
+            this.symbol = symbol;
+            return this;
+        }
+
+        public Builder target(Party target) {
+            this.target = target;
+            return this;
+        }
+
+        public Claim build() {
+            return new Claim(this);
+        }
+    }
+}
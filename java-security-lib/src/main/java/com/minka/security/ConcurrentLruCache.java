@@ -0,0 +1,97 @@
+package com.minka.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Size-bounded cache with approximate LRU eviction and lock-free reads.
+// Hits are a ConcurrentHashMap lookup plus an occasional write of the entry's last-use time,
+// so readers never share a monitor (unlike a synchronized access-ordered LinkedHashMap).
+// When an insert takes the size over maxSize, one thread evicts the least recently used
+// eighth of the entries in a single pass, so the cost is amortized over many inserts.
+final class ConcurrentLruCache<K, V> {
+    // Last-use times closer together than this are not rewritten on a hit
+    private static final long TOUCH_GRANULARITY_NANOS = 1_000_000;
+
+    private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+
+    ConcurrentLruCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    // Cached value, or null
+    V get(K key) {
+        Node<V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - node.lastUsed > TOUCH_GRANULARITY_NANOS) {
+            node.lastUsed = now;
+        }
+        return node.value;
+    }
+
+    void put(K key, V value) {
+        map.put(key, new Node<>(value, System.nanoTime()));
+        // A thread that finds an eviction running leaves its entry to it: the evicting thread
+        // checks the size again when done, so the bound holds once all puts have returned
+        while (map.size() > maxSize && evicting.compareAndSet(false, true)) {
+            try {
+                evict();
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    // Removes the least recently used entries down to maxSize - maxSize/8 (caller holds the evicting flag)
+    private void evict() {
+        List<Candidate<K, V>> candidates = new ArrayList<>(map.size());
+        for (Map.Entry<K, Node<V>> entry : map.entrySet()) {
+            // Snapshot lastUsed: hits may update it while the list is being sorted
+            candidates.add(new Candidate<>(entry.getKey(), entry.getValue(), entry.getValue().lastUsed));
+        }
+        int excess = candidates.size() - (maxSize - maxSize / 8);
+        if (excess <= 0) {
+            return;
+        }
+        candidates.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+        for (int i = 0; i < excess; i++) {
+            map.remove(candidates.get(i).key, candidates.get(i).node);
+        }
+    }
+
+    private static final class Candidate<K, V> {
+        final K key;
+        final Node<V> node;
+        final long lastUsed;
+
+        Candidate(K key, Node<V> node, long lastUsed) {
+            this.key = key;
+            this.node = node;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private static final class Node<V> {
+        final V value;
+        volatile long lastUsed;
+
+        Node(V value, long lastUsed) {
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.minka.security;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+// Ed25519 implementation used for key loading, signing and verification.
+// Implementations: BouncyCastle ("bc"), the JDK's SunEC ("sunec") and Tink ("tink").
+// See Ed25519Backends for how one is selected.
+public interface Ed25519Backend {
+    // Short backend name ("bc", "sunec", "tink")
+    String getName();
+
+    // Parses a PKCS#8 DER private key
+    PrivateKey loadPrivateKey(byte[] pkcs8) throws GeneralSecurityException;
+
+    // Parses an X.509 DER public key
+    PublicKey loadPublicKey(byte[] x509) throws GeneralSecurityException;
+
+    // Creates a signer bound to the key (not thread-safe: pool or confine it)
+    Signer newSigner(PrivateKey privateKey) throws GeneralSecurityException;
+
+    // Creates a verifier for any key (not thread-safe: pool or confine it)
+    Verifier newVerifier() throws GeneralSecurityException;
+
+    interface Signer {
+        byte[] sign(byte[] message) throws GeneralSecurityException;
+    }
+
+    interface Verifier {
+        // False for a wrong or malformed signature
+        boolean verify(PublicKey publicKey, byte[] message, byte[] signature) throws GeneralSecurityException;
+    }
+}
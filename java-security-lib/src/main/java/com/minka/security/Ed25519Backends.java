@@ -0,0 +1,168 @@
+package com.minka.security;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Chooses the Ed25519Backend used by KeyUtils, SignatureUtils and the signing/verifying classes.
+// The backend is set by the system property minka.ed25519.backend (bc, sunec, tink or auto;
+// default bc), or in code with select(...)/autoSelect(). "auto" runs a short startup benchmark
+// and picks the fastest backend whose signatures are identical to BouncyCastle's.
+public final class Ed25519Backends {
+    // System property naming the backend to use
+    public static final String BACKEND_PROPERTY = "minka.ed25519.backend";
+
+    // Fixed test key for the self-benchmark and FastStart warm-up (RFC 8032 test vector 1)
+    private static final byte[] TEST_PKCS8 = hex("302e020100300506032b657004220420"
+            + "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60");
+    private static final byte[] TEST_X509 = hex("302a300506032b6570032100"
+            + "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a");
+    private static final int BENCH_WARMUP = 200;
+    private static final int BENCH_ROUNDS = 300;
+
+    private static volatile Ed25519Backend current;
+    private static volatile String selectionReport = "not selected yet";
+
+    private Ed25519Backends() {
+    }
+
+    // The backend in use (resolved from the system property on first call)
+    public static Ed25519Backend current() {
+        Ed25519Backend backend = current;
+        if (backend == null) {
+            synchronized (Ed25519Backends.class) {
+                if (current == null) {
+                    String configured = System.getProperty(BACKEND_PROPERTY, "bc");
+                    current = "auto".equalsIgnoreCase(configured) ? benchmark(candidates()) : byName(configured);
+                    if (!"auto".equalsIgnoreCase(configured)) {
+                        selectionReport = "configured: " + current.getName();
+                    }
+                }
+                backend = current;
+            }
+        }
+        return backend;
+    }
+
+    // Uses the named backend from now on (bc, sunec or tink)
+    public static Ed25519Backend select(String name) {
+        Ed25519Backend backend = byName(name);
+        current = backend;
+        selectionReport = "selected: " + backend.getName();
+        return backend;
+    }
+
+    // Benchmarks all backends, switches to the fastest compatible one and returns it
+    public static Ed25519Backend autoSelect() {
+        Ed25519Backend backend = benchmark(candidates());
+        current = backend;
+        return backend;
+    }
+
+    // Human-readable summary of how the current backend was chosen (timings for auto)
+    public static String selectionReport() {
+        return selectionReport;
+    }
+
+    // All known backends, BouncyCastle first
+    public static List<Ed25519Backend> candidates() {
+        return Arrays.asList(JcaEd25519Backend.bouncyCastle(), JcaEd25519Backend.sunEC(), new TinkEd25519Backend());
+    }
+
+    // Looks a backend up by name (only that backend is created, so unused providers are never loaded)
+    public static Ed25519Backend byName(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "bc":
+                return JcaEd25519Backend.bouncyCastle();
+            case "sunec":
+                return JcaEd25519Backend.sunEC();
+            case "tink":
+                return new TinkEd25519Backend();
+            default:
+                throw new IllegalArgumentException("Unknown Ed25519 backend: " + name + " (expected bc, sunec, tink or auto)");
+        }
+    }
+
+    // PKCS#8 encoding of the fixed test private key (a copy)
+    static byte[] testPrivateKey() {
+        return TEST_PKCS8.clone();
+    }
+
+    // X.509 encoding of the fixed test public key (a copy)
+    static byte[] testPublicKey() {
+        return TEST_X509.clone();
+    }
+
+    // Times each backend on the test key; backends that fail or sign differently from the first are skipped
+    static Ed25519Backend benchmark(List<Ed25519Backend> backends) {
+        byte[][] messages = new byte[BENCH_ROUNDS][];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = HashUtils.sha256(new byte[]{(byte) i, (byte) (i >> 8)}); // 32-byte digests, like proofs
+        }
+        Map<String, String> results = new LinkedHashMap<>();
+        Ed25519Backend best = null;
+        long bestNanos = Long.MAX_VALUE;
+        List<byte[]> reference = null;
+        for (Ed25519Backend backend : backends) {
+            try {
+                PrivateKey privateKey = backend.loadPrivateKey(TEST_PKCS8);
+                PublicKey publicKey = backend.loadPublicKey(TEST_X509);
+                Ed25519Backend.Signer signer = backend.newSigner(privateKey);
+                Ed25519Backend.Verifier verifier = backend.newVerifier();
+                List<byte[]> signatures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    signatures.add(signer.sign(messages[i]));
+                }
+                if (reference == null) {
+                    reference = signatures;
+                } else if (!sameSignatures(reference, signatures)) {
+                    results.put(backend.getName(), "skipped (different signatures)");
+                    continue;
+                }
+                if (!verifier.verify(publicKey, messages[0], signatures.get(0))) {
+                    results.put(backend.getName(), "skipped (cannot verify its own signature)");
+                    continue;
+                }
+                for (int i = 0; i < BENCH_WARMUP; i++) {
+                    signer.sign(messages[i % messages.length]);
+                }
+                long start = System.nanoTime();
+                for (byte[] message : messages) {
+                    signer.sign(message);
+                }
+                long nanos = (System.nanoTime() - start) / messages.length;
+                results.put(backend.getName(), nanos + " ns/sign");
+                if (nanos < bestNanos) {
+                    bestNanos = nanos;
+                    best = backend;
+                }
+            } catch (GeneralSecurityException | RuntimeException e) {
+                results.put(backend.getName(), "unavailable (" + e + ")");
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No usable Ed25519 backend: " + results);
+        }
+        selectionReport = "auto: " + best.getName() + " " + results;
+        return best;
+    }
+
+    private static boolean sameSignatures(List<byte[]> a, List<byte[]> b) {
+        for (int i = 0; i < a.size(); i++) {
+            if (!Arrays.equals(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] hex(String s) {
+        return SignatureUtils.hexStringToByteArray(s);
+    }
+}
@@ -0,0 +1,72 @@
+package com.minka.security;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+
+// Long-lived Ed25519 signer bound to one private key.
+// Signers from the Ed25519Backend are created and initialized once, then pooled and reused,
+// so signing skips the provider lookup and initSign of SignatureUtils.signEd25519.
+// Safe to share across threads (including virtual threads: the pool is lock-free).
+public final class Ed25519SigningEngine {
+    private final PrivateKey privateKey;
+    private final Ed25519Backend backend;
+    private final InstancePool<Ed25519Backend.Signer> signers;
+
+    // Creates an engine for the key (fails fast if the key cannot be used for Ed25519)
+    public Ed25519SigningEngine(PrivateKey privateKey) throws GeneralSecurityException {
+        this(privateKey, InstancePool.DEFAULT_MAX_IDLE);
+    }
+
+    // Creates an engine that keeps at most maxIdle initialized signers
+    public Ed25519SigningEngine(PrivateKey privateKey, int maxIdle) throws GeneralSecurityException {
+        this(privateKey, maxIdle, Ed25519Backends.current());
+    }
+
+    // Creates an engine on a specific backend
+    public Ed25519SigningEngine(PrivateKey privateKey, int maxIdle, Ed25519Backend backend) throws GeneralSecurityException {
+        this.privateKey = privateKey;
+        this.backend = backend;
+        this.signers = new InstancePool<>(this::newSignerUnchecked, maxIdle);
+        signers.release(backend.newSigner(privateKey)); // Validate the key now and warm the pool
+    }
+
+    // Signs raw bytes (for ledger proofs: the 32-byte signature digest)
+    public byte[] sign(byte[] message) throws GeneralSecurityException {
+        long start = SecurityMetrics.start();
+        Ed25519Backend.Signer signer = signers.borrow();
+        byte[] signature;
+        try {
+            signature = signer.sign(message);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            // The signer's state is unknown after a failure: drop it, the pool creates a fresh one
+            SecurityMetrics.failure(SecurityMetrics.Operation.SIGN, start, e);
+            throw e;
+        }
+        signers.release(signer); // Signers reset after each signature, ready for reuse
+        SecurityMetrics.success(SecurityMetrics.Operation.SIGN, start, message.length);
+        return signature;
+    }
+
+    // Signs a hex digest string (same result as SignatureUtils.signEd25519)
+    public byte[] signHexDigest(String hexDigest) throws GeneralSecurityException {
+        return sign(SignatureUtils.hexStringToByteArray(hexDigest));
+    }
+
+    // The private key this engine signs with
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    // The backend the signers come from
+    public Ed25519Backend getBackend() {
+        return backend;
+    }
+
+    private Ed25519Backend.Signer newSignerUnchecked() {
+        try {
+            return backend.newSigner(privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create Ed25519 signature engine", e);
+        }
+    }
+}
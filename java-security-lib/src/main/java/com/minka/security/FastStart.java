@@ -0,0 +1,233 @@
+package com.minka.security;
+
+import java.lang.management.ManagementFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Fast-start support for short-lived signer jobs and autoscaled pods.
+// With -Dminka.faststart=true, KeyUtils no longer registers BouncyCastle when it is loaded: the
+// provider is registered by the BouncyCastle backend on first use, and never with
+// -Dminka.ed25519.backend=sunec. warmUp()/warmUpAsync() run the Ed25519, SHA-256, Jackson,
+// proof and JWT paths once on a built-in test key, so classes are loaded and initialized before
+// the first real request. main() is the training run for the AppCDS archive and prints the
+// startup report (mvn -Pfaststart package).
+public final class FastStart {
+    // System property enabling fast-start mode
+    public static final String PROPERTY = "minka.faststart";
+    // Default number of times each path runs during warm-up
+    public static final int DEFAULT_ITERATIONS = 20;
+
+    private FastStart() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    public static Report warmUp() throws Exception {
+        return warmUp(DEFAULT_ITERATIONS);
+    }
+
+    // Runs each hot path the given number of times and reports how long each stage took
+    public static Report warmUp(int iterations) throws Exception {
+        Report report = new Report();
+        long total = System.nanoTime();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            HashUtils.sha256(new byte[]{(byte) i});
+        }
+        report.stages.put("sha256", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        String privateKeyB64 = Base64.getEncoder().encodeToString(Ed25519Backends.testPrivateKey());
+        String publicKeyB64 = Base64.getEncoder().encodeToString(Ed25519Backends.testPublicKey());
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromBase64(privateKeyB64);
+        PublicKey publicKey = KeyUtils.loadEd25519PublicKeyFromBase64(publicKeyB64);
+        Ed25519SigningEngine engine = new Ed25519SigningEngine(privateKey);
+        Ed25519Backend.Verifier verifier = engine.getBackend().newVerifier();
+        for (int i = 0; i < iterations; i++) {
+            byte[] message = HashUtils.sha256(new byte[]{(byte) i});
+            if (!verifier.verify(publicKey, message, engine.sign(message))) {
+                throw new IllegalStateException("Ed25519 warm-up signature does not verify");
+            }
+        }
+        report.stages.put("ed25519", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        Map<String, Object> intent = sampleIntent(publicKeyB64);
+        for (int i = 0; i < iterations; i++) {
+            HashUtils.hashData(intent);
+            HashUtils.serializeData(intent);
+        }
+        Intent typed = Intent.builder().handle("warm-up").schema("transfer")
+                .addAccess(AccessRule.signer("any", publicKeyB64))
+                .addClaim(Claim.transfer(Party.of("source"), Party.of("target"), "cop", 1))
+                .build();
+        for (int i = 0; i < iterations; i++) {
+            HashUtils.hashData(typed);
+        }
+        report.stages.put("jackson", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        String rawPublicKey = testRawPublicKey();
+        ProofBuilder proofBuilder = new ProofBuilder(engine, rawPublicKey);
+        ProofVerifier proofVerifier = new ProofVerifier();
+        Map<String, Object> signatureCustom = Collections.singletonMap("status", "warm-up");
+        for (int i = 0; i < iterations; i++) {
+            ProofBuilder.SignedRecord record = proofBuilder.sign(intent, signatureCustom);
+            if (!proofVerifier.verifyRecord(record.toRequest())) {
+                throw new IllegalStateException("Warm-up proof does not verify");
+            }
+        }
+        report.stages.put("proof", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        String seed = Base64.getEncoder().encodeToString(lastBytes(Ed25519Backends.testPrivateKey(), 32));
+        JwtMinter minter = new JwtMinter(seed, rawPublicKey);
+        for (int i = 0; i < iterations; i++) {
+            minter.sign(Collections.singletonMap("sub", "warm-up-" + i));
+        }
+        report.stages.put("jwt", System.nanoTime() - start);
+
+        report.totalNanos = System.nanoTime() - total;
+        return report;
+    }
+
+    // Runs warmUp() on a daemon thread, so it overlaps with the rest of the application's startup
+    public static CompletableFuture<Report> warmUpAsync() {
+        CompletableFuture<Report> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(warmUp());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, "minka-faststart-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+
+    // Startup report, and the AppCDS training workload. Arguments:
+    //   --no-warmup       measure the first signature on a cold JVM
+    //   --key <der file>  sign with this PKCS#8 key instead of the built-in test key
+    //   --public <base64> raw 32-byte public key matching --key (required with --key)
+    public static void main(String[] args) throws Exception {
+        long mainMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        boolean warm = !Arrays.asList(args).contains("--no-warmup");
+        String keyFile = option(args, "--key");
+        String rawPublicKey = keyFile != null ? option(args, "--public") : testRawPublicKey();
+        if (rawPublicKey == null) {
+            throw new IllegalArgumentException("--key requires --public <raw Base64 public key>");
+        }
+
+        Report report = warm ? warmUp() : null;
+
+        long start = System.nanoTime();
+        PrivateKey privateKey = keyFile != null ? KeyUtils.loadEd25519PrivateKeyFromDerFile(keyFile)
+                : KeyUtils.loadEd25519PrivateKeyFromBase64(Base64.getEncoder().encodeToString(Ed25519Backends.testPrivateKey()));
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, rawPublicKey);
+        Map<String, Object> signatureCustom = Collections.singletonMap("status", "created");
+        ProofBuilder.SignedRecord first = proofBuilder.sign(sampleIntent("first-signature"), signatureCustom);
+        long firstNanos = System.nanoTime() - start;
+        long readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (!new ProofVerifier().verifyRecord(first.toRequest())) {
+            throw new IllegalArgumentException("The public key does not match the private key");
+        }
+
+        List<Long> steady = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long t = System.nanoTime();
+            proofBuilder.sign(sampleIntent("steady-" + i), signatureCustom);
+            steady.add(System.nanoTime() - t);
+        }
+        Collections.sort(steady);
+
+        System.out.println("fast-start mode:        " + isEnabled());
+        System.out.println("ed25519 backend:        " + Ed25519Backends.current().getName());
+        System.out.println("BouncyCastle registered: " + (java.security.Security.getProvider("BC") != null));
+        System.out.println("JVM start to main:      " + mainMillis + " ms");
+        if (report != null) {
+            System.out.println("warm-up:                " + report);
+        }
+        System.out.printf("first signature:        %.2f ms (key load + hash + sign)%n", firstNanos / 1e6);
+        System.out.println("JVM start to signed:    " + readyMillis + " ms");
+        System.out.printf("steady signature p50:   %.3f ms%n", steady.get(steady.size() / 2) / 1e6);
+    }
+
+    // Raw Base64 public key of the built-in test key (the form used in proofs)
+    static String testRawPublicKey() {
+        return Base64.getEncoder().encodeToString(lastBytes(Ed25519Backends.testPublicKey(), 32));
+    }
+
+    // The key material at the end of a PKCS#8 / X.509 Ed25519 encoding
+    private static byte[] lastBytes(byte[] encoded, int length) {
+        return Arrays.copyOfRange(encoded, encoded.length - length, encoded.length);
+    }
+
+    // Value following the flag, or null
+    private static String option(String[] args, String flag) {
+        int index = Arrays.asList(args).indexOf(flag);
+        return index >= 0 && index + 1 < args.length ? args[index + 1] : null;
+    }
+
+    // Small intent with the usual shape (access rules, one transfer claim, config)
+    private static Map<String, Object> sampleIntent(String handle) {
+        Map<String, Object> source = new HashMap<>();
+        source.put("handle", "svgs:1234567@bank.example");
+        Map<String, Object> target = new HashMap<>();
+        target.put("handle", "svgs:7654321@bank.example");
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("action", "transfer");
+        claim.put("amount", 100);
+        claim.put("source", source);
+        claim.put("target", target);
+        claim.put("symbol", Collections.singletonMap("handle", "cop"));
+        Map<String, Object> rule = new HashMap<>();
+        rule.put("action", "any");
+        rule.put("signer", Collections.singletonMap("public", "warm-up"));
+        Map<String, Object> intent = new HashMap<>();
+        intent.put("handle", handle);
+        intent.put("schema", "transfer");
+        intent.put("claims", Collections.singletonList(claim));
+        intent.put("access", Collections.singletonList(rule));
+        intent.put("config", Collections.singletonMap("commit", "auto"));
+        return intent;
+    }
+
+    // Time spent in each warm-up stage
+    public static final class Report {
+        private final Map<String, Long> stages = new LinkedHashMap<>();
+        private long totalNanos;
+
+        // Stage name (sha256, ed25519, jackson, proof, jwt) to nanoseconds
+        public Map<String, Long> getStages() {
+            return Collections.unmodifiableMap(stages);
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(String.format("%.1f ms", totalNanos / 1e6));
+            String separator = " (";
+            for (Map.Entry<String, Long> stage : stages.entrySet()) {
+                out.append(separator).append(stage.getKey()).append(String.format(" %.1f ms", stage.getValue() / 1e6));
+                separator = ", ";
+            }
+            return out.append(stages.isEmpty() ? "" : ")").toString();
+        }
+    }
+}
@@ -2,43 +2,278 @@ package com.minka.security;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.minka.security.SecurityMetrics.Operation;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 // Utility class for hashing and serializing data
 public class HashUtils {
-    // ObjectMapper for stable JSON serialization (always sorts keys)
-    private static final ObjectMapper mapper = new ObjectMapper()
-            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    // ObjectMapper for stable JSON serialization (always sorts keys), built on first use
+    private static final class Canonical {
+        static final ObjectMapper MAPPER = new ObjectMapper()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    // Lowercase hex digits for the table-driven encoder
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Size of the byte buffer between the JSON generator and the digest
+    private static final int STREAM_BUFFER_SIZE = 1024;
+
+    // Reusable SHA-256 engines (lock-free pool, safe for virtual threads)
+    private static final InstancePool<MessageDigest> SHA256 =
+            new InstancePool<>(HashUtils::newSha256, InstancePool.DEFAULT_MAX_IDLE);
+
+    // Reusable streaming hashers (digest + UTF-8 buffer) for hashData
+    private static final InstancePool<StreamingHasher> HASHERS =
+            new InstancePool<>(StreamingHasher::new, InstancePool.DEFAULT_MAX_IDLE);
+
+    private static ObjectMapper mapper() {
+        return Canonical.MAPPER;
+    }
 
     // Converts any Java object to a stable JSON string
     public static String serializeData(Object data) throws JsonProcessingException {
-        return mapper.writeValueAsString(data);
+        long start = SecurityMetrics.start();
+        try {
+            String json = mapper().writeValueAsString(data);
+            SecurityMetrics.success(Operation.SERIALIZE, start, start != 0 ? utf8Length(json) : 0);
+            return json;
+        } catch (JsonProcessingException | RuntimeException e) {
+            SecurityMetrics.failure(Operation.SERIALIZE, start, e);
+            throw e;
+        }
+    }
+
+    // Writes the stable JSON of the data as UTF-8 to the stream (same bytes as serializeData, stream is left open)
+    public static void writeCanonical(Object data, OutputStream out) throws IOException {
+        long start = SecurityMetrics.start();
+        try {
+            Utf8StreamWriter writer = new Utf8StreamWriter(out, STREAM_BUFFER_SIZE);
+            writeCanonical(data, writer, null);
+            SecurityMetrics.success(Operation.SERIALIZE, start, writer.bytesWritten());
+        } catch (IOException | RuntimeException e) {
+            SecurityMetrics.failure(Operation.SERIALIZE, start, e);
+            throw e;
+        }
+    }
+
+    // Generates the same chars as writeValueAsString, so the UTF-8 output matches serializeData exactly
+    // (closing the writer only flushes its buffer, the underlying stream stays open).
+    // A non-null json writer (CanonicalCache) is used instead of the mapper.
+    private static void writeCanonical(Object data, Utf8StreamWriter writer, ObjectWriter json) throws IOException {
+        if (json == null) {
+            mapper().writeValue(writer, data);
+        } else {
+            json.writeValue(writer, data);
+        }
+    }
+
+    // Number of bytes the string takes in UTF-8, counted without encoding it
+    static long utf8Length(CharSequence chars) {
+        long bytes = 0;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                bytes += 4; // Supplementary character: one 4-byte sequence for the surrogate pair
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++; // Unpaired surrogate: getBytes(UTF_8) replaces it with '?'
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    // Writer with the same settings as the stable JSON mapper (for CanonicalCache)
+    static ObjectWriter canonicalWriter() {
+        return mapper().writer();
     }
 
     // Creates a SHA-256 hash (hex string) of the serialized data
     public static String createHash(Object data) throws Exception {
-        String serialized = serializeData(data); // Convert to JSON
-        MessageDigest digest = MessageDigest.getInstance("SHA-256"); // Get SHA-256 digest
-        byte[] hash = digest.digest(serialized.getBytes(StandardCharsets.UTF_8)); // Hash the JSON
-        return bytesToHex(hash); // Convert to hex string
+        long start = SecurityMetrics.start();
+        try {
+            String serialized = mapper().writeValueAsString(data); // Convert to JSON (timed as part of HASH)
+            byte[] bytes = serialized.getBytes(StandardCharsets.UTF_8);
+            byte[] hash = sha256(bytes); // Hash the JSON
+            SecurityMetrics.success(Operation.HASH, start, bytes.length);
+            return bytesToHex(hash); // Convert to hex string
+        } catch (Exception e) {
+            SecurityMetrics.failure(Operation.HASH, start, e);
+            throw e;
+        }
+    }
+
+    // Streaming variant of createHash: the JSON goes straight into the digest, no String or byte[] copy
+    public static String createHashStreaming(Object data) throws Exception {
+        return bytesToHex(hashData(data));
+    }
+
+    // Raw SHA-256 of the serialized data, computed by streaming the JSON into a reused digest
+    public static byte[] hashData(Object data) throws IOException {
+        return hashData(data, null);
+    }
+
+    // hashData writing the JSON through the given writer (null for the mapper); used by CanonicalCache
+    static byte[] hashData(Object data, ObjectWriter json) throws IOException {
+        long start = SecurityMetrics.start();
+        StreamingHasher hasher = HASHERS.borrow();
+        try {
+            byte[] hash = hasher.hash(null, 0, data, true, json);
+            SecurityMetrics.success(Operation.HASH, start, hasher.bytesHashed());
+            return hash;
+        } catch (IOException | RuntimeException e) {
+            SecurityMetrics.failure(Operation.HASH, start, e);
+            throw e;
+        } finally {
+            HASHERS.release(hasher);
+        }
+    }
+
+    // Raw signature digest: SHA-256 of hex(dataHash) + serialized custom info, streamed without building Strings
+    public static byte[] signatureDigest(byte[] dataHash, Object signatureCustom) throws IOException {
+        long start = SecurityMetrics.start();
+        StreamingHasher hasher = HASHERS.borrow();
+        try {
+            int len = hexInto(dataHash, hasher.hexScratch(dataHash.length * 2));
+            byte[] digest = hasher.hash(hasher.hexScratch, len, signatureCustom, signatureCustom != null, null);
+            SecurityMetrics.success(Operation.SIGNATURE_DIGEST, start, hasher.bytesHashed());
+            return digest;
+        } catch (IOException | RuntimeException e) {
+            SecurityMetrics.failure(Operation.SIGNATURE_DIGEST, start, e);
+            throw e;
+        } finally {
+            HASHERS.release(hasher);
+        }
     }
 
     // Creates a SHA-256 hash (hex string) of the data hash + serialized custom signature info
     public static String createSignatureDigest(String dataHash, Object signatureCustom) throws Exception {
-        String serializedCustom = signatureCustom != null ? serializeData(signatureCustom) : "";
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest((dataHash + serializedCustom).getBytes(StandardCharsets.UTF_8));
-        return bytesToHex(hash);
+        long start = SecurityMetrics.start();
+        try {
+            String serializedCustom = signatureCustom != null ? mapper().writeValueAsString(signatureCustom) : "";
+            byte[] bytes = (dataHash + serializedCustom).getBytes(StandardCharsets.UTF_8);
+            byte[] hash = sha256(bytes);
+            SecurityMetrics.success(Operation.SIGNATURE_DIGEST, start, bytes.length);
+            return bytesToHex(hash);
+        } catch (Exception e) {
+            SecurityMetrics.failure(Operation.SIGNATURE_DIGEST, start, e);
+            throw e;
+        }
+    }
+
+    // SHA-256 of the given bytes using a pooled digest
+    static byte[] sha256(byte[] input) {
+        MessageDigest digest = SHA256.borrow();
+        try {
+            return digest.digest(input); // digest() also resets the engine
+        } finally {
+            SHA256.release(digest);
+        }
+    }
+
+    // Returns the hex unchanged if it is non-empty, even-length lowercase hex (the form bytesToHex
+    // writes); throws IllegalArgumentException otherwise. Digests sign the hex text, so "AB" and
+    // "ab" are different inputs and must not be normalized silently.
+    static String requireLowercaseHex(String hex) {
+        if (hex == null || hex.isEmpty() || hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Data hash must be an even-length lowercase hex string");
+        }
+        for (int i = 0; i < hex.length(); i++) {
+            char c = hex.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                throw new IllegalArgumentException("Data hash must be lowercase hex, got '" + c + "' at " + i);
+            }
+        }
+        return hex;
     }
 
-    // Helper to convert a byte array to a hex string
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
+    // Helper to convert a byte array to a hex string (lowercase, table-driven)
+    static String bytesToHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        hexInto(bytes, out);
+        return new String(out);
+    }
+
+    // Writes the lowercase hex of bytes into out, returns the number of chars written
+    private static int hexInto(byte[] bytes, char[] out) {
+        int j = 0;
         for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+            out[j++] = HEX_DIGITS[(b >> 4) & 0x0F];
+            out[j++] = HEX_DIGITS[b & 0x0F];
+        }
+        return j;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Pooled hashing state: one digest and one UTF-8 buffer that feeds it
+    private static final class StreamingHasher {
+        private final MessageDigest digest = newSha256();
+        private final DigestSink sink = new DigestSink(digest);
+        private final Utf8StreamWriter writer = new Utf8StreamWriter(sink, STREAM_BUFFER_SIZE);
+        private char[] hexScratch = new char[64]; // Holds the hex data hash for signature digests
+
+        // Bytes fed to the digest by the last hash call
+        long bytesHashed() {
+            return writer.bytesWritten();
+        }
+
+        char[] hexScratch(int length) {
+            if (hexScratch.length < length) {
+                hexScratch = new char[length];
+            }
+            return hexScratch;
+        }
+
+        // Hashes prefix chars followed (if includeData) by the stable JSON of data
+        byte[] hash(char[] prefix, int prefixLength, Object data, boolean includeData, ObjectWriter json) throws IOException {
+            digest.reset();
+            writer.reset(sink);
+            if (prefixLength > 0) {
+                writer.write(prefix, 0, prefixLength);
+            }
+            if (includeData) {
+                writeCanonical(data, writer, json);
+            }
+            writer.finish();
+            return digest.digest();
+        }
+    }
+
+    // OutputStream that feeds everything written to it into a MessageDigest
+    private static final class DigestSink extends OutputStream {
+        private final MessageDigest digest;
+
+        DigestSink(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            digest.update(b, off, len);
         }
-        return sb.toString();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.minka.security;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Small lock-free pool of reusable, non-thread-safe objects (MessageDigest, Signature, ...).
+// It uses no locks or synchronized blocks, so borrowing never pins a virtual thread, and
+// unlike a ThreadLocal it does not keep one instance alive per (virtual) thread.
+final class InstancePool<T> {
+    // Default number of idle instances kept around
+    static final int DEFAULT_MAX_IDLE = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Supplier<T> factory;
+    private final int maxIdle;
+
+    InstancePool(Supplier<T> factory, int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("maxIdle must be at least 1");
+        }
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    // Takes an idle instance, or creates a new one when the pool is empty
+    T borrow() {
+        T item = idle.poll();
+        if (item != null) {
+            idleCount.decrementAndGet();
+            return item;
+        }
+        return factory.get();
+    }
+
+    // Returns an instance to the pool; extra instances beyond maxIdle are dropped
+    void release(T item) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(item);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
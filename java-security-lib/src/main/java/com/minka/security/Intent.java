@@ -0,0 +1,133 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Intent data: { access, claims, config, custom, handle, schema }
+public final class Intent extends CanonicalRecord {
+    private static final SerializedString ACCESS = field("access");
+    private static final SerializedString CLAIMS = field("claims");
+    private static final SerializedString CONFIG = field("config");
+    private static final SerializedString CUSTOM = field("custom");
+    private static final SerializedString HANDLE = field("handle");
+    private static final SerializedString SCHEMA = field("schema");
+
+    private final List<AccessRule> access;
+    private final List<Claim> claims;
+    private final Map<String, Object> config;
+    private final Map<String, Object> custom;
+    private final String handle;
+    private final String schema;
+
+    private Intent(Builder b) {
+        this.access = copy(b.access);
+        this.claims = copy(b.claims);
+        this.config = copy(b.config);
+        this.custom = copy(b.custom);
+        this.handle = b.handle;
+        this.schema = b.schema;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<AccessRule> getAccess() {
+        return access;
+    }
+
+    public List<Claim> getClaims() {
+        return claims;
+    }
+
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    public Map<String, Object> getCustom() {
+        return custom;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeRecords(gen, provider, ACCESS, access);
+        writeRecords(gen, provider, CLAIMS, claims);
+        writeMap(gen, provider, CONFIG, config);
+        writeMap(gen, provider, CUSTOM, custom);
+        writeString(gen, HANDLE, handle);
+        writeString(gen, SCHEMA, schema);
+    }
+
+    public static final class Builder {
+        private List<AccessRule> access;
+        private List<Claim> claims;
+        private Map<String, Object> config;
+        private Map<String, Object> custom;
+        private String handle;
+        private String schema;
+
+        public Builder access(List<AccessRule> access) {
+            this.access = access == null ? null : new ArrayList<>(access);
+            return this;
+        }
+
+        public Builder addAccess(AccessRule rule) {
+            if (access == null) {
+                access = new ArrayList<>();
+            }
+            access.add(rule);
+            return this;
+        }
+
+        public Builder claims(List<Claim> claims) {
+            this.claims = claims == null ? null : new ArrayList<>(claims);
+            return this;
+        }
+
+        public Builder addClaim(Claim claim) {
+            if (claims == null) {
+                claims = new ArrayList<>();
+            }
+            claims.add(claim);
+            return this;
+        }
+
+        public Builder config(Map<String, Object> config) {
+            this.config = config;
+            return this;
+        }
+
+        public Builder custom(Map<String, Object> custom) {
+            this.custom = custom;
+            return this;
+        }
+
+        public Builder handle(String handle) {
+            this.handle = handle;
+            return this;
+        }
+
+        public Builder schema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Intent build() {
+            return new Intent(this);
+        }
+    }
+}
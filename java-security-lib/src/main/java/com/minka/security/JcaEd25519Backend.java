@@ -0,0 +1,102 @@
+package com.minka.security;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+
+// Ed25519 backend on a JCA provider (BouncyCastle "BC" or the JDK's "SunEC")
+final class JcaEd25519Backend implements Ed25519Backend {
+    private final String name;
+    private final String provider;
+    private final String keyClassPrefix; // Package of the provider's own key classes
+
+    JcaEd25519Backend(String name, String provider, String keyClassPrefix) {
+        this.name = name;
+        this.provider = provider;
+        this.keyClassPrefix = keyClassPrefix;
+    }
+
+    static JcaEd25519Backend bouncyCastle() {
+        return new JcaEd25519Backend("bc", "BC", "org.bouncycastle.");
+    }
+
+    static JcaEd25519Backend sunEC() {
+        return new JcaEd25519Backend("sunec", "SunEC", "sun.security.ec.");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // Providers may throw runtime exceptions on truncated DER (BC does); report them as InvalidKeySpecException
+    @Override
+    public PrivateKey loadPrivateKey(byte[] pkcs8) throws GeneralSecurityException {
+        try {
+            return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        } catch (RuntimeException e) {
+            throw new InvalidKeySpecException("Malformed PKCS#8 Ed25519 key", e);
+        }
+    }
+
+    @Override
+    public PublicKey loadPublicKey(byte[] x509) throws GeneralSecurityException {
+        try {
+            return keyFactory().generatePublic(new X509EncodedKeySpec(x509));
+        } catch (RuntimeException e) {
+            throw new InvalidKeySpecException("Malformed X.509 Ed25519 key", e);
+        }
+    }
+
+    @Override
+    public Signer newSigner(PrivateKey privateKey) throws GeneralSecurityException {
+        Signature sig = signature();
+        sig.initSign(isNative(privateKey) ? privateKey : loadPrivateKey(privateKey.getEncoded()));
+        return message -> {
+            sig.update(message);
+            return sig.sign(); // sign() resets the engine to its initSign state
+        };
+    }
+
+    @Override
+    public Verifier newVerifier() throws GeneralSecurityException {
+        Signature sig = signature();
+        return (publicKey, message, signature) -> {
+            sig.initVerify(isNative(publicKey) ? publicKey : loadPublicKey(publicKey.getEncoded()));
+            sig.update(message);
+            try {
+                return sig.verify(signature);
+            } catch (SignatureException e) {
+                return false; // Malformed signature bytes
+            }
+        };
+    }
+
+    private Signature signature() throws GeneralSecurityException {
+        ensureProvider();
+        return Signature.getInstance("Ed25519", provider);
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        ensureProvider();
+        return KeyFactory.getInstance("Ed25519", provider);
+    }
+
+    private void ensureProvider() {
+        if ("BC".equals(provider)) {
+            KeyUtils.ensureProvider();
+        }
+    }
+
+    // Keys from another provider are re-parsed from their encoding
+    private boolean isNative(Key key) {
+        return key.getClass().getName().startsWith(keyClassPrefix);
+    }
+}
@@ -0,0 +1,118 @@
+package com.minka.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-signer JWT minter: the Ed25519 JWK, signer and (pre-encoded) header are built once.
+// token(iss, sub, aud) hands out a cached token for the same claims until it is within the
+// safety margin of its exp, and only then signs a new one. Tokens that can no longer be handed
+// out are swept on insert (at most once per reuse window), so the cache only holds claims used
+// within the last ttl. Thread-safe.
+public final class JwtMinter {
+    // Default token lifetime (same as the 60 seconds used by the test drivers)
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+    // Default time before exp at which a cached token is no longer handed out
+    public static final Duration DEFAULT_SAFETY_MARGIN = Duration.ofSeconds(10);
+
+    private final JWSHeader header;
+    private final JWSSigner signer;
+    private final long ttlSeconds;
+    private final long marginSeconds;
+    private final Clock clock;
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+    private volatile long nextSweep;
+
+    public JwtMinter(String base64SecretKey, String base64PublicKey) throws JOSEException {
+        this(base64SecretKey, base64PublicKey, DEFAULT_TTL, DEFAULT_SAFETY_MARGIN, Clock.systemUTC());
+    }
+
+    // Creates a minter issuing tokens valid for ttl, re-signed once less than safetyMargin remains
+    public JwtMinter(String base64SecretKey, String base64PublicKey, Duration ttl, Duration safetyMargin, Clock clock)
+            throws JOSEException {
+        if (safetyMargin.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("safetyMargin must be shorter than ttl");
+        }
+        this.signer = JwtUtils.buildSigner(base64SecretKey, base64PublicKey);
+        this.header = preEncoded(JwtUtils.buildHeader(base64PublicKey));
+        this.ttlSeconds = ttl.getSeconds();
+        this.marginSeconds = safetyMargin.getSeconds();
+        this.clock = clock;
+    }
+
+    // Signs an arbitrary payload with the prepared signer (same output as JwtUtils.signJWT)
+    public String sign(Map<String, Object> payload) throws JOSEException {
+        return JwtUtils.sign(payload, header, signer);
+    }
+
+    // Returns a valid token for (iss, sub, aud), reusing the cached one until it nears exp
+    public String token(String iss, String sub, String aud) throws JOSEException {
+        String key = iss + '\n' + sub + '\n' + aud;
+        long now = clock.millis() / 1000L;
+        CachedToken cached = tokens.get(key);
+        if (cached != null && now < cached.exp - marginSeconds) {
+            return cached.token;
+        }
+        // Concurrent callers may both re-sign here; both tokens are valid and the last one wins
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("iss", iss);
+        payload.put("sub", sub);
+        payload.put("aud", aud);
+        payload.put("iat", now);
+        payload.put("exp", now + ttlSeconds);
+        CachedToken fresh = new CachedToken(sign(payload), now + ttlSeconds);
+        evictExpired(now);
+        tokens.put(key, fresh);
+        return fresh.token;
+    }
+
+    // Token for a ledger signer, with the claims used by the drivers (iss = signer, sub = signer:<signer>, aud = ledger)
+    public String tokenForSigner(String signer, String ledger) throws JOSEException {
+        return token(signer, "signer:" + signer, ledger);
+    }
+
+    // Number of cached tokens
+    public int cachedTokenCount() {
+        return tokens.size();
+    }
+
+    // Drops all cached tokens (e.g. after a key change)
+    public void clear() {
+        tokens.clear();
+    }
+
+    // Removes tokens inside their safety margin; runs at most once per reuse window (ttl - margin)
+    private void evictExpired(long now) {
+        if (now < nextSweep) {
+            return;
+        }
+        nextSweep = now + ttlSeconds - marginSeconds;
+        tokens.values().removeIf(cached -> now >= cached.exp - marginSeconds);
+    }
+
+    // Parses the header back so Nimbus keeps its Base64URL form and skips re-encoding it per token
+    private static JWSHeader preEncoded(JWSHeader header) {
+        try {
+            return JWSHeader.parse(header.toBase64URL());
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot pre-encode JWT header", e);
+        }
+    }
+
+    private static final class CachedToken {
+        final String token;
+        final long exp;
+
+        CachedToken(String token, long exp) {
+            this.token = token;
+            this.exp = exp;
+        }
+    }
+}
@@ -12,8 +12,24 @@ import java.util.Map;
 
 // Utility class for signing JWT tokens with Ed25519 keys
 public class JwtUtils {
-    // Signs a JWT payload with Ed25519 using the secret and public key (Base64 strings)
+    // Signs a JWT payload with Ed25519 using the secret and public key (Base64 strings).
+    // The JWT_SIGN time includes building the signer from the keys.
     public static String signJWT(Map<String, Object> payload, String base64SecretKey, String base64PublicKey) throws Exception {
+        long start = SecurityMetrics.start();
+        JWSHeader header;
+        JWSSigner signer;
+        try {
+            header = buildHeader(base64PublicKey);
+            signer = buildSigner(base64SecretKey, base64PublicKey);
+        } catch (JOSEException | RuntimeException e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.JWT_SIGN, start, e);
+            throw e;
+        }
+        return sign(payload, header, signer, start);
+    }
+
+    // Builds the Ed25519 signer from the secret and public key (Base64 strings)
+    static JWSSigner buildSigner(String base64SecretKey, String base64PublicKey) throws JOSEException {
         // Convert Base64 keys to JWK OctetKeyPair (Nimbus format)
         Base64URL d = Base64URL.from(base64SecretKey); // Private key
         Base64URL x = Base64URL.from(base64PublicKey); // Public key
@@ -23,24 +39,41 @@ public class JwtUtils {
                 .d(d)
                 .keyUse(KeyUse.SIGNATURE)
                 .build();
+        return new Ed25519Signer(jwk);
+    }
 
-        // Build JWT header (EdDSA algorithm, key ID is public key)
-        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.EdDSA)
+    // Builds the JWT header (EdDSA algorithm, key ID is public key)
+    static JWSHeader buildHeader(String base64PublicKey) {
+        return new JWSHeader.Builder(JWSAlgorithm.EdDSA)
                 .keyID(base64PublicKey)
                 .type(JOSEObjectType.JWT)
                 .build();
+    }
 
-        // Build JWT claims from the payload map
-        com.nimbusds.jwt.JWTClaimsSet.Builder claimsBuilder = new com.nimbusds.jwt.JWTClaimsSet.Builder();
-        for (Map.Entry<String, Object> entry : payload.entrySet()) {
-            claimsBuilder.claim(entry.getKey(), entry.getValue());
-        }
-        com.nimbusds.jwt.JWTClaimsSet claimsSet = claimsBuilder.build();
+    // Signs the payload with a prepared header and signer
+    static String sign(Map<String, Object> payload, JWSHeader header, JWSSigner signer) throws JOSEException {
+        return sign(payload, header, signer, SecurityMetrics.start());
+    }
 
-        // Create and sign the JWT
-        SignedJWT signedJWT = new SignedJWT(header, claimsSet);
-        JWSSigner signer = new Ed25519Signer(jwk);
-        signedJWT.sign(signer);
-        return signedJWT.serialize(); // Return the JWT as a string
+    // sign() timed from the given SecurityMetrics start
+    private static String sign(Map<String, Object> payload, JWSHeader header, JWSSigner signer, long start) throws JOSEException {
+        try {
+            // Build JWT claims from the payload map
+            com.nimbusds.jwt.JWTClaimsSet.Builder claimsBuilder = new com.nimbusds.jwt.JWTClaimsSet.Builder();
+            for (Map.Entry<String, Object> entry : payload.entrySet()) {
+                claimsBuilder.claim(entry.getKey(), entry.getValue());
+            }
+            com.nimbusds.jwt.JWTClaimsSet claimsSet = claimsBuilder.build();
+
+            // Create and sign the JWT
+            SignedJWT signedJWT = new SignedJWT(header, claimsSet);
+            signedJWT.sign(signer);
+            String token = signedJWT.serialize(); // Return the JWT as a string
+            SecurityMetrics.success(SecurityMetrics.Operation.JWT_SIGN, start, token.length());
+            return token;
+        } catch (JOSEException | RuntimeException e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.JWT_SIGN, start, e);
+            throw e;
+        }
     }
-} 
\ No newline at end of file
+}
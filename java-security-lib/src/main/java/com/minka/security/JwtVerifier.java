@@ -0,0 +1,152 @@
+package com.minka.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.BadJWTException;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Verifies inbound EdDSA JWTs (Authorization: Bearer ...), the counterpart of JwtUtils/JwtMinter.
+// The key is resolved from the kid header (the Base64 public key signJWT puts there) and must be
+// one of the trusted keys. Signature, aud and exp (plus nbf if present) are checked, and verified
+// tokens are cached until exp so retries and polling with the same token skip the signature check.
+// Thread-safe.
+public final class JwtVerifier {
+    // Default number of verified tokens kept in the cache
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    // Default allowed clock difference when checking exp/nbf
+    public static final Duration DEFAULT_CLOCK_SKEW = Duration.ofSeconds(5);
+    // Minimum time between two purges of expired tokens from a full cache
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final String audience;
+    private final Map<String, JWSVerifier> verifiersByKid = new ConcurrentHashMap<>();
+    private final Map<String, JWTClaimsSet> verified = new ConcurrentHashMap<>();
+    private final int cacheSize;
+    private final long skewMillis;
+    private final Clock clock;
+    private volatile long nextSweep;
+
+    // Accepts tokens for the audience signed by one of the trusted Base64 public keys
+    public JwtVerifier(String audience, Collection<String> trustedPublicKeys) throws JOSEException {
+        this(audience, trustedPublicKeys, DEFAULT_CACHE_SIZE, DEFAULT_CLOCK_SKEW, Clock.systemUTC());
+    }
+
+    public JwtVerifier(String audience, Collection<String> trustedPublicKeys, int cacheSize, Duration clockSkew, Clock clock)
+            throws JOSEException {
+        this.audience = audience;
+        for (String publicKey : trustedPublicKeys) {
+            OctetKeyPair jwk = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.from(publicKey)).build();
+            verifiersByKid.put(publicKey, new Ed25519Verifier(jwk));
+        }
+        this.cacheSize = cacheSize;
+        this.skewMillis = clockSkew.toMillis();
+        this.clock = clock;
+    }
+
+    // Verifies an Authorization header value ("Bearer <jwt>") and returns the claims
+    public JWTClaimsSet verifyAuthorizationHeader(String authorization) throws BadJWTException {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            throw new BadJWTException("Missing Bearer token");
+        }
+        return verify(authorization.substring(7).trim());
+    }
+
+    // Verifies a compact JWT and returns its claims; throws BadJWTException if it is not acceptable
+    public JWTClaimsSet verify(String token) throws BadJWTException {
+        long now = clock.millis();
+        JWTClaimsSet cached = verified.get(token);
+        if (cached != null) {
+            if (!isExpired(cached, now)) {
+                return cached;
+            }
+            verified.remove(token);
+        }
+
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(token);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            throw new BadJWTException("Malformed JWT", e);
+        }
+        if (!JWSAlgorithm.EdDSA.equals(jwt.getHeader().getAlgorithm())) {
+            throw new BadJWTException("Unexpected JWT algorithm: " + jwt.getHeader().getAlgorithm());
+        }
+        JWSVerifier verifier = jwt.getHeader().getKeyID() != null ? verifiersByKid.get(jwt.getHeader().getKeyID()) : null;
+        if (verifier == null) {
+            throw new BadJWTException("Untrusted JWT key: " + jwt.getHeader().getKeyID());
+        }
+        checkClaims(claims, now);
+        try {
+            if (!jwt.verify(verifier)) {
+                throw new BadJWTException("Invalid JWT signature");
+            }
+        } catch (JOSEException e) {
+            throw new BadJWTException("Cannot verify JWT signature", e);
+        }
+        remember(token, claims, now);
+        return claims;
+    }
+
+    // Number of verified tokens currently cached
+    public int cachedTokenCount() {
+        return verified.size();
+    }
+
+    private void checkClaims(JWTClaimsSet claims, long now) throws BadJWTException {
+        if (claims.getExpirationTime() == null) {
+            throw new BadJWTException("Missing exp");
+        }
+        if (isExpired(claims, now)) {
+            throw new BadJWTException("Expired JWT");
+        }
+        Date nbf = claims.getNotBeforeTime();
+        if (nbf != null && nbf.getTime() > now + skewMillis) {
+            throw new BadJWTException("JWT not yet valid");
+        }
+        if (claims.getAudience() == null || !claims.getAudience().contains(audience)) {
+            throw new BadJWTException("Unexpected audience: " + claims.getAudience());
+        }
+    }
+
+    private boolean isExpired(JWTClaimsSet claims, long now) {
+        return claims.getExpirationTime().getTime() + skewMillis < now;
+    }
+
+    // Caches the claims. When full, expired entries are purged first (at most once per sweep
+    // interval, so a cache full of live tokens does not cost a scan per verify) and the token is
+    // skipped if the cache is still full.
+    private void remember(String token, JWTClaimsSet claims, long now) {
+        if (verified.size() >= cacheSize) {
+            if (now < nextSweep) {
+                return;
+            }
+            nextSweep = now + SWEEP_INTERVAL_MILLIS;
+            for (Iterator<JWTClaimsSet> it = verified.values().iterator(); it.hasNext(); ) {
+                if (isExpired(it.next(), now)) {
+                    it.remove();
+                }
+            }
+            if (verified.size() >= cacheSize) {
+                return;
+            }
+        }
+        verified.put(token, claims);
+    }
+}
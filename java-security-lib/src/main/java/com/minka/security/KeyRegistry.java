@@ -0,0 +1,226 @@
+package com.minka.security;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Registry of signer keys keyed by signer handle, backed by a key directory.
+// Files follow the repo convention: <handle>-key.der (PKCS#8 private key) and optionally
+// <handle>-pub.der (X.509 public key). Each key is parsed once and shared; a watcher thread
+// reloads rotated files and swaps the new entry in atomically, so signing threads never block
+// on a reload and always see a complete key set. A public key is only accepted together with
+// the private key it belongs to (checked by signing and verifying a probe): while a rotation is
+// half done (one file moved, the other not yet) the previous entry stays active and the
+// mismatch is reported to onError. Write rotated keys to a temp file and move them into place;
+// a file that fails to parse leaves the previous keys active.
+public final class KeyRegistry implements AutoCloseable {
+    // Suffix of PKCS#8 private key files
+    public static final String PRIVATE_KEY_SUFFIX = "-key.der";
+    // Suffix of X.509 public key files
+    public static final String PUBLIC_KEY_SUFFIX = "-pub.der";
+
+    private final Path directory;
+    private final Map<String, SignerKeys> keys = new ConcurrentHashMap<>();
+    private volatile Consumer<SignerKeys> reloadListener = k -> { };
+    private volatile Consumer<Exception> errorListener = e -> { };
+    private WatchService watchService;
+    private Thread watcher;
+
+    public KeyRegistry(Path directory) {
+        this.directory = directory;
+    }
+
+    // Keys for the signer, loaded from the directory on first use and shared afterwards
+    public SignerKeys get(String handle) throws Exception {
+        SignerKeys current = keys.get(handle);
+        if (current != null) {
+            return current;
+        }
+        KeyPairEntry loaded = load(handle);
+        return keys.compute(handle, (h, raced) -> raced != null ? raced : new SignerKeys(h, loaded, 1));
+    }
+
+    // Shortcut for the signer's private key
+    public PrivateKey privateKey(String handle) throws Exception {
+        return get(handle).getPrivateKey();
+    }
+
+    // Shortcut for the signer's shared signing engine
+    public Ed25519SigningEngine engine(String handle) throws Exception {
+        return get(handle).getEngine();
+    }
+
+    // Registers keys that do not come from the directory (replaces any current entry);
+    // fails if publicKey is not the public half of privateKey
+    public SignerKeys register(String handle, PrivateKey privateKey, PublicKey publicKey) throws Exception {
+        return swap(handle, new KeyPairEntry(privateKey, publicKey));
+    }
+
+    // Re-reads the signer's files and swaps the new keys in (the current entry stays if they do not match)
+    public SignerKeys reload(String handle) throws Exception {
+        SignerKeys fresh = swap(handle, load(handle));
+        reloadListener.accept(fresh);
+        return fresh;
+    }
+
+    // Installs the keys with the next version number (read and bump happen atomically in compute)
+    private SignerKeys swap(String handle, KeyPairEntry loaded) {
+        return keys.compute(handle, (h, previous) -> new SignerKeys(h, loaded, previous != null ? previous.getVersion() + 1 : 1));
+    }
+
+    // Starts a daemon thread that reloads keys whose files change in the directory
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watcher = new Thread(this::watchLoop, "key-registry-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    // Called with the new entry after every reload
+    public void onReload(Consumer<SignerKeys> listener) {
+        this.reloadListener = listener;
+    }
+
+    // Called when a changed file cannot be loaded or the public key does not match the private key
+    // (the previous keys stay active)
+    public void onError(Consumer<Exception> listener) {
+        this.errorListener = listener;
+    }
+
+    // Stops the watcher thread
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watcher = null;
+        }
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        keys.keySet().forEach(this::reloadQuietly);
+                        continue;
+                    }
+                    String handle = handleOf(event.context().toString());
+                    if (handle != null && keys.containsKey(handle)) {
+                        reloadQuietly(handle);
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Registry closed
+        }
+    }
+
+    private void reloadQuietly(String handle) {
+        try {
+            reload(handle);
+        } catch (Exception e) {
+            errorListener.accept(e);
+        }
+    }
+
+    private KeyPairEntry load(String handle) throws Exception {
+        Path privatePath = directory.resolve(handle + PRIVATE_KEY_SUFFIX);
+        Path publicPath = directory.resolve(handle + PUBLIC_KEY_SUFFIX);
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(privatePath.toString());
+        PublicKey publicKey = Files.exists(publicPath) ? KeyUtils.loadEd25519PublicKeyFromDerFile(publicPath.toString()) : null;
+        return new KeyPairEntry(privateKey, publicKey);
+    }
+
+    private static String handleOf(String fileName) {
+        if (fileName.endsWith(PRIVATE_KEY_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - PRIVATE_KEY_SUFFIX.length());
+        }
+        if (fileName.endsWith(PUBLIC_KEY_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - PUBLIC_KEY_SUFFIX.length());
+        }
+        return null;
+    }
+
+    // Parsed keys with their engine, checked to belong together
+    private static final class KeyPairEntry {
+        final PrivateKey privateKey;
+        final PublicKey publicKey;
+        final Ed25519SigningEngine engine;
+
+        KeyPairEntry(PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.engine = new Ed25519SigningEngine(privateKey);
+            if (publicKey != null) {
+                byte[] probe = HashUtils.sha256(publicKey.getEncoded());
+                if (!Ed25519Backends.current().newVerifier().verify(publicKey, probe, engine.sign(probe))) {
+                    throw new GeneralSecurityException("Public key does not match the private key");
+                }
+            }
+        }
+    }
+
+    // Immutable key set for one signer; replaced as a whole on rotation
+    public static final class SignerKeys {
+        private final String handle;
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+        private final int version;
+        private final Ed25519SigningEngine engine;
+
+        private SignerKeys(String handle, KeyPairEntry keys, int version) {
+            this.handle = handle;
+            this.privateKey = keys.privateKey;
+            this.publicKey = keys.publicKey;
+            this.version = version;
+            this.engine = keys.engine;
+        }
+
+        public String getHandle() {
+            return handle;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        // X.509 public key, or null if no <handle>-pub.der file exists
+        public PublicKey getPublicKey() {
+            return publicKey;
+        }
+
+        // Starts at 1 and grows with every reload
+        public int getVersion() {
+            return version;
+        }
+
+        // Signing engine bound to this private key
+        public Ed25519SigningEngine getEngine() {
+            return engine;
+        }
+    }
+}
@@ -7,35 +7,98 @@ import java.util.Base64;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.KeyFactory;
 
-// Utility class for loading Ed25519 keys
+// Utility class for loading Ed25519 keys (parsed by the backend chosen in Ed25519Backends)
 public class KeyUtils {
     static {
-        // Register BouncyCastle as a security provider (needed for Ed25519)
-        Security.addProvider(new BouncyCastleProvider());
+        // Register BouncyCastle as a security provider (needed for Ed25519); in fast-start mode
+        // the BouncyCastle backend registers it on first use instead, and never if another backend is used
+        if (!FastStart.isEnabled()) {
+            ensureProvider();
+        }
+    }
+
+    // Makes sure BouncyCastle is registered (idempotent; also triggers the static initializer)
+    static void ensureProvider() {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
     }
 
     // Loads an Ed25519 private key from a Base64-encoded PKCS#8 DER string
     public static PrivateKey loadEd25519PrivateKeyFromBase64(String base64Key) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(base64Key); // Decode Base64
-        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes); // PKCS#8 spec
-        KeyFactory kf = KeyFactory.getInstance("Ed25519", "BC"); // Use BouncyCastle
-        return kf.generatePrivate(spec); // Return PrivateKey object
+        long start = SecurityMetrics.start();
+        try {
+            byte[] keyBytes = Base64.getDecoder().decode(base64Key); // Decode Base64
+            return loaded(Ed25519Backends.current().loadPrivateKey(keyBytes), start, keyBytes); // Parse PKCS#8 with the selected backend
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.KEY_LOAD, start, e);
+            throw e;
+        }
     }
 
     // Loads an Ed25519 private key from a PKCS#8 DER file (recommended)
     public static PrivateKey loadEd25519PrivateKeyFromDerFile(String filePath) throws Exception {
-        byte[] keyBytes = Files.readAllBytes(Paths.get(filePath)); // Read file bytes
-        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes); // PKCS#8 spec
-        KeyFactory kf = KeyFactory.getInstance("Ed25519", "BC"); // Use BouncyCastle
-        return kf.generatePrivate(spec); // Return PrivateKey object
+        long start = SecurityMetrics.start();
+        try {
+            byte[] keyBytes = Files.readAllBytes(Paths.get(filePath)); // Read file bytes
+            return loaded(Ed25519Backends.current().loadPrivateKey(keyBytes), start, keyBytes); // Parse PKCS#8 with the selected backend
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.KEY_LOAD, start, e);
+            throw e;
+        }
     }
 
     // Loads an Ed25519 public key from a Base64-encoded X.509 DER string
     public static PublicKey loadEd25519PublicKeyFromBase64(String base64Key) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(base64Key); // Decode Base64
-        return KeyFactory.getInstance("Ed25519", "BC").generatePublic(new java.security.spec.X509EncodedKeySpec(keyBytes));
+        long start = SecurityMetrics.start();
+        try {
+            byte[] keyBytes = Base64.getDecoder().decode(base64Key); // Decode Base64
+            return loaded(Ed25519Backends.current().loadPublicKey(keyBytes), start, keyBytes); // Parse X.509 with the selected backend
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.KEY_LOAD, start, e);
+            throw e;
+        }
     }
+
+    // Loads an Ed25519 public key from an X.509 DER file
+    public static PublicKey loadEd25519PublicKeyFromDerFile(String filePath) throws Exception {
+        long start = SecurityMetrics.start();
+        try {
+            byte[] keyBytes = Files.readAllBytes(Paths.get(filePath)); // Read file bytes
+            return loaded(Ed25519Backends.current().loadPublicKey(keyBytes), start, keyBytes); // Parse X.509 with the selected backend
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.KEY_LOAD, start, e);
+            throw e;
+        }
+    }
+
+    // Loads an Ed25519 public key from a Base64-encoded raw 32-byte key (the form used in proofs and JWT kid)
+    public static PublicKey loadEd25519PublicKeyFromRawBase64(String base64Key) throws Exception {
+        long start = SecurityMetrics.start();
+        try {
+            byte[] raw = Base64.getDecoder().decode(base64Key); // Decode Base64
+            if (raw.length != 32) {
+                throw new IllegalArgumentException("Ed25519 raw public key must be 32 bytes, got " + raw.length);
+            }
+            byte[] keyBytes = new byte[ED25519_X509_PREFIX.length + raw.length]; // Wrap in X.509 SubjectPublicKeyInfo
+            System.arraycopy(ED25519_X509_PREFIX, 0, keyBytes, 0, ED25519_X509_PREFIX.length);
+            System.arraycopy(raw, 0, keyBytes, ED25519_X509_PREFIX.length, raw.length);
+            return loaded(Ed25519Backends.current().loadPublicKey(keyBytes), start, keyBytes); // Parse X.509 with the selected backend
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.KEY_LOAD, start, e);
+            throw e;
+        }
+    }
+
+    // Reports a successful load to SecurityMetrics and returns the key
+    private static <K> K loaded(K key, long start, byte[] keyBytes) {
+        SecurityMetrics.success(SecurityMetrics.Operation.KEY_LOAD, start, keyBytes.length);
+        return key;
+    }
+
+    // X.509 SubjectPublicKeyInfo header for an Ed25519 key (OID 1.3.101.112)
+    private static final byte[] ED25519_X509_PREFIX = {
+            0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x70, 0x03, 0x21, 0x00
+    };
 } 
\ No newline at end of file
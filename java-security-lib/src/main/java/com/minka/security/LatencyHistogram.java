@@ -0,0 +1,87 @@
+package com.minka.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free log-linear histogram of nanosecond latencies: each power of two is split into
+// 8 linear sub-buckets, so percentiles are within 12.5% of the true value. Fixed size (4 KB).
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    // Upper bound of the bucket holding the given quantile (0..1), 0 when empty
+    long percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,313 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+// Ledger API client on java.net.http.HttpClient (replaces the per-request HttpURLConnection
+// of the test drivers). One client keeps its connections open and reuses them, negotiates
+// HTTP/2 (multiplexing requests over one connection) and falls back to HTTP/1.1.
+// Request bodies are serialized as canonical JSON into a list of fixed-size chunks (the whole
+// document is buffered, but never as one String or one large array) so the client can send an
+// exact Content-Length; x-ledger / Authorization headers come from a JwtMinter's cached token.
+// Thread-safe.
+public final class LedgerClient {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int BODY_CHUNK_SIZE = 8192;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final HttpClient http;
+    private final String server;
+    private final String ledger;
+    private final String signer;
+    private final JwtMinter jwtMinter;
+    private final Duration requestTimeout;
+
+    private LedgerClient(Builder builder) {
+        this.http = builder.httpClient != null ? builder.httpClient : newHttpClient(builder);
+        this.server = builder.server.endsWith("/") ? builder.server.substring(0, builder.server.length() - 1) : builder.server;
+        this.ledger = builder.ledger;
+        this.signer = builder.signer;
+        this.jwtMinter = builder.jwtMinter;
+        this.requestTimeout = builder.requestTimeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // POST /anchors with a signed request ({ data, hash, meta })
+    public CompletableFuture<Response> createAnchorAsync(Object request) {
+        return postAsync("/anchors", request);
+    }
+
+    // POST /intents with a signed request ({ data, hash, meta })
+    public CompletableFuture<Response> createIntentAsync(Object request) {
+        return postAsync("/intents", request);
+    }
+
+    // GET /anchors/{handle}
+    public CompletableFuture<Response> getAnchorAsync(String handle) {
+        return getAsync("/anchors/" + encodePathSegment(handle));
+    }
+
+    // POSTs the body as canonical JSON to a path under the server URL
+    public CompletableFuture<Response> postAsync(String path, Object body) {
+        try {
+            return sendAsync(request(path).header("Content-Type", "application/json").POST(jsonBody(body)).build());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // GETs a path under the server URL
+    public CompletableFuture<Response> getAsync(String path) {
+        try {
+            return sendAsync(request(path).GET().build());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Blocking POST (waits for postAsync)
+    public Response post(String path, Object body) throws Exception {
+        return await(postAsync(path, body));
+    }
+
+    // Blocking GET (waits for getAsync)
+    public Response get(String path) throws Exception {
+        return await(getAsync(path));
+    }
+
+    // The underlying HttpClient (shared connection pool)
+    public HttpClient getHttpClient() {
+        return http;
+    }
+
+    private CompletableFuture<Response> sendAsync(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(r -> new Response(r.statusCode(), r.headers(), r.body(), r.version()));
+    }
+
+    private HttpRequest.Builder request(String path) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(server + path))
+                .header("x-ledger", ledger);
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        if (jwtMinter != null) {
+            builder.header("Authorization", "Bearer " + jwtMinter.tokenForSigner(signer, ledger));
+        }
+        return builder;
+    }
+
+    // Serializes the whole body into fixed-size chunks (no String, no single big array) so the
+    // request carries an exact Content-Length instead of chunked transfer encoding
+    private static HttpRequest.BodyPublisher jsonBody(Object body) throws IOException {
+        ChunkedBody chunks = new ChunkedBody();
+        HashUtils.writeCanonical(body, chunks);
+        List<byte[]> parts = chunks.finish();
+        return HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofByteArrays(parts), chunks.length);
+    }
+
+    // Percent-encodes a value for use as one URL path segment (UTF-8; unreserved characters kept)
+    static String encodePathSegment(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '~') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static HttpClient newHttpClient(Builder builder) {
+        HttpClient.Builder http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(builder.connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (builder.executor != null) {
+            http.executor(builder.executor);
+        }
+        return http.build();
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    // OutputStream that keeps written bytes as a list of full chunks
+    private static final class ChunkedBody extends OutputStream {
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current = new byte[BODY_CHUNK_SIZE];
+        private int position;
+        private long length;
+
+        @Override
+        public void write(int b) {
+            if (position == current.length) {
+                nextChunk();
+            }
+            current[position++] = (byte) b;
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            length += len;
+            while (len > 0) {
+                if (position == current.length) {
+                    nextChunk();
+                }
+                int n = Math.min(len, current.length - position);
+                System.arraycopy(b, off, current, position, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void nextChunk() {
+            chunks.add(current);
+            current = new byte[BODY_CHUNK_SIZE];
+            position = 0;
+        }
+
+        List<byte[]> finish() {
+            if (position > 0) {
+                chunks.add(position == current.length ? current : Arrays.copyOf(current, position));
+            }
+            return chunks;
+        }
+    }
+
+    // Ledger response: status, headers and raw body
+    public static final class Response {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final HttpClient.Version version;
+
+        Response(int statusCode, HttpHeaders headers, byte[] body, HttpClient.Version version) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+            this.version = version;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        // True for 2xx responses
+        public boolean isSuccess() {
+            return statusCode >= 200 && statusCode < 300;
+        }
+
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getBodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        // Parses the JSON body into a Map
+        public Map<String, Object> getBodyAsMap() throws IOException {
+            return JSON.readValue(body, new TypeReference<Map<String, Object>>() { });
+        }
+
+        // Protocol used for this exchange (HTTP_2 or HTTP_1_1)
+        public HttpClient.Version getVersion() {
+            return version;
+        }
+    }
+
+    public static final class Builder {
+        private String server;
+        private String ledger;
+        private String signer;
+        private JwtMinter jwtMinter;
+        private Executor executor;
+        private HttpClient httpClient;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+
+        // Base API URL, e.g. https://ldg-dev.one/api/v2
+        public Builder server(String server) {
+            this.server = server;
+            return this;
+        }
+
+        // Value of the x-ledger header and the JWT aud
+        public Builder ledger(String ledger) {
+            this.ledger = ledger;
+            return this;
+        }
+
+        // Signer handle (JWT iss, with sub = signer:<handle>) and the minter that signs its tokens
+        public Builder signer(String signer, JwtMinter jwtMinter) {
+            this.signer = signer;
+            this.jwtMinter = jwtMinter;
+            return this;
+        }
+
+        // Executor for the client's async work (default: the HttpClient's own pool)
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        // Uses a preconfigured HttpClient (timeouts and executor settings are then ignored)
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        // Per-request timeout (null for none)
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public LedgerClient build() {
+            if (server == null || ledger == null) {
+                throw new IllegalStateException("server and ledger are required");
+            }
+            return new LedgerClient(this);
+        }
+    }
+}
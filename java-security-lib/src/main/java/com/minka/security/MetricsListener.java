@@ -0,0 +1,12 @@
+package com.minka.security;
+
+// Receives one callback per instrumented operation (see SecurityMetrics).
+// Called on the thread that ran the operation, so implementations must be thread-safe and fast.
+public interface MetricsListener {
+    // Listener that ignores everything (the default: instrumentation is then skipped entirely)
+    MetricsListener NOOP = (operation, nanos, bytes, error) -> { };
+
+    // operation took nanos; bytes is the payload size (hashed/signed/key bytes, 0 if not applicable);
+    // error is null on success, otherwise the exception the operation threw
+    void onOperation(SecurityMetrics.Operation operation, long nanos, long bytes, Throwable error);
+}
@@ -0,0 +1,260 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+// Signs NDJSON (JSON Lines) files: one intent or anchor data object per input line, one signed
+// request envelope ({ data, hash, meta: { proofs } }) per output line, in input order.
+// The input is read in fixed-size chunks through a FileChannel; each line is parsed with the
+// Jackson streaming parser and hashed/signed in parallel. Only a bounded window of lines is
+// in memory at any time, so memory use does not depend on the file size.
+// A line that cannot be parsed or signed produces {"error": ..., "line": n} in its place,
+// keeping output lines aligned with input lines. Blank lines are skipped.
+public final class NdjsonBulkSigner {
+    // Default size of the NIO read buffer
+    public static final int DEFAULT_READ_BUFFER = 64 * 1024;
+
+    private static final ObjectMapper PARSER = new ObjectMapper();
+    private static final JsonFactory FACTORY = PARSER.getFactory();
+
+    private final ProofBuilder proofBuilder;
+    private final Executor executor;
+    private final int window;
+    private final int readBufferSize;
+
+    // Uses the common ForkJoinPool and a window of 8 lines per processor
+    public NdjsonBulkSigner(ProofBuilder proofBuilder) {
+        this(proofBuilder, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors() * 8, DEFAULT_READ_BUFFER);
+    }
+
+    // window = maximum lines parsed/signed ahead of the writer
+    public NdjsonBulkSigner(ProofBuilder proofBuilder, Executor executor, int window, int readBufferSize) {
+        if (window < 1 || readBufferSize < 1) {
+            throw new IllegalArgumentException("window and readBufferSize must be positive");
+        }
+        this.proofBuilder = proofBuilder;
+        this.executor = executor;
+        this.window = window;
+        this.readBufferSize = readBufferSize;
+    }
+
+    // Signs every line of input into output using the signatureCustom computed for each data object
+    public Summary signFile(Path input, Path output, Function<Object, Map<String, Object>> signatureCustom) throws IOException {
+        ArrayDeque<CompletableFuture<Output>> inFlight = new ArrayDeque<>(window);
+        Summary summary = new Summary();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer outBuffer = ByteBuffer.allocate(readBufferSize);
+            LineReader lines = new LineReader(in, readBufferSize);
+            byte[] line;
+            while ((line = lines.next()) != null) {
+                if (isBlank(line)) {
+                    continue;
+                }
+                if (inFlight.size() == window) {
+                    write(inFlight.removeFirst(), out, outBuffer, summary);
+                }
+                final byte[] bytes = line;
+                final long lineNumber = lines.lineNumber();
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> signLine(bytes, lineNumber, signatureCustom), executor));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst(), out, outBuffer, summary);
+            }
+            flush(out, outBuffer);
+        }
+        return summary;
+    }
+
+    private Output signLine(byte[] line, long lineNumber, Function<Object, Map<String, Object>> signatureCustom) {
+        ByteArrayOutputStream envelope = new ByteArrayOutputStream(line.length * 2 + 256);
+        boolean failed = false;
+        try {
+            Object data = parse(line);
+            ProofBuilder.SignedRecord record = proofBuilder.sign(data, signatureCustom.apply(data));
+            HashUtils.writeCanonical(record.toRequest(), envelope);
+        } catch (Exception e) {
+            envelope.reset();
+            failed = true;
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", String.valueOf(e.getMessage()));
+            error.put("line", lineNumber);
+            try {
+                HashUtils.writeCanonical(error, envelope);
+            } catch (IOException ignored) {
+                // Cannot happen for a map of strings and numbers
+            }
+        }
+        envelope.write('\n');
+        return new Output(envelope.toByteArray(), failed);
+    }
+
+    // Parses one line with the streaming parser; the line must hold exactly one JSON object
+    private static Object parse(byte[] line) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Line is not a JSON object");
+            }
+            Object data = PARSER.readValue(parser, LinkedHashMap.class);
+            if (parser.nextToken() != null) {
+                throw new IOException("Trailing content after the JSON object");
+            }
+            return data;
+        }
+    }
+
+    private static void write(CompletableFuture<Output> next, FileChannel out, ByteBuffer buffer, Summary summary)
+            throws IOException {
+        Output output;
+        try {
+            output = next.join();
+        } catch (CompletionException e) {
+            throw new IOException("Signing task failed", e.getCause());
+        }
+        if (output.failed) {
+            summary.failed++;
+        } else {
+            summary.signed++;
+        }
+        byte[] bytes = output.bytes;
+        int length = bytes.length;
+        int offset = 0;
+        while (offset < length) {
+            if (!buffer.hasRemaining()) {
+                flush(out, buffer);
+            }
+            int n = Math.min(buffer.remaining(), length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // One output line (with its newline) and whether it is an error entry
+    private static final class Output {
+        final byte[] bytes;
+        final boolean failed;
+
+        Output(byte[] bytes, boolean failed) {
+            this.bytes = bytes;
+            this.failed = failed;
+        }
+    }
+
+    // Splits a channel into lines using one reusable read buffer (lines may span reads)
+    private static final class LineReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private byte[] pending = new byte[256];
+        private int pendingLength;
+        private long lineNumber;
+        private boolean eof;
+        private boolean first = true;
+
+        LineReader(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip(); // Start empty
+        }
+
+        // Next line without its terminator (\n or \r\n), or null at end of file
+        byte[] next() throws IOException {
+            while (true) {
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        return take();
+                    }
+                    append(b);
+                }
+                if (eof) {
+                    return pendingLength > 0 ? take() : null;
+                }
+                buffer.clear();
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+            }
+        }
+
+        // 1-based number of the line last returned
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        private void append(byte b) {
+            if (pendingLength == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            pending[pendingLength++] = b;
+        }
+
+        private byte[] take() {
+            int start = 0;
+            int end = pendingLength;
+            if (first && end >= 3 && (pending[0] & 0xFF) == 0xEF && (pending[1] & 0xFF) == 0xBB && (pending[2] & 0xFF) == 0xBF) {
+                start = 3; // UTF-8 byte order mark
+            }
+            if (end > start && pending[end - 1] == '\r') {
+                end--;
+            }
+            first = false;
+            lineNumber++;
+            pendingLength = 0;
+            return Arrays.copyOfRange(pending, start, end);
+        }
+    }
+
+    // Counts of signed and failed lines
+    public static final class Summary {
+        private long signed;
+        private long failed;
+
+        public long getSigned() {
+            return signed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return "signed=" + signed + ", failed=" + failed;
+        }
+    }
+}
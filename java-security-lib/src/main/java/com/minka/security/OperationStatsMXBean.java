@@ -0,0 +1,26 @@
+package com.minka.security;
+
+// JMX view of one instrumented operation (registered by RecordingMetricsListener)
+public interface OperationStatsMXBean {
+    String getOperation();
+
+    long getCount();
+
+    long getErrorCount();
+
+    long getBytes();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,40 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Source or target of a claim: { custom, handle }
+public final class Party extends CanonicalRecord {
+    private static final SerializedString CUSTOM = field("custom");
+    private static final SerializedString HANDLE = field("handle");
+
+    private final String handle;
+    private final Map<String, Object> custom;
+
+    public Party(String handle, Map<String, Object> custom) {
+        this.handle = handle;
+        this.custom = copy(custom);
+    }
+
+    public static Party of(String handle) {
+        return new Party(handle, null);
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public Map<String, Object> getCustom() {
+        return custom;
+    }
+
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeMap(gen, provider, CUSTOM, custom);
+        writeString(gen, HANDLE, handle);
+    }
+}
@@ -0,0 +1,132 @@
+package com.minka.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds complete ed25519-v2 proofs (method, custom, digest, public, result) in one call.
+// Digests stay as byte[] end to end: the data hash is streamed into SHA-256, its hex form
+// is fed straight into the signature digest, and the digest bytes are signed directly.
+// Hex is only produced for the wire fields (hash, digest). Thread-safe.
+public final class ProofBuilder {
+    // Proof method used by the ledger for Ed25519 signatures
+    public static final String METHOD = "ed25519-v2";
+
+    private final Ed25519SigningEngine engine;
+    private final String base64PublicKey;
+    private final CanonicalCache cache;
+
+    // Creates a builder that signs with the engine and reports the given public key
+    public ProofBuilder(Ed25519SigningEngine engine, String base64PublicKey) {
+        this(engine, base64PublicKey, null);
+    }
+
+    // Same, hashing data through the cache (null for no cache)
+    public ProofBuilder(Ed25519SigningEngine engine, String base64PublicKey, CanonicalCache cache) {
+        this.engine = engine;
+        this.base64PublicKey = base64PublicKey;
+        this.cache = cache;
+    }
+
+    // Creates a builder with its own signing engine for the private key
+    public ProofBuilder(PrivateKey privateKey, String base64PublicKey) throws GeneralSecurityException {
+        this(new Ed25519SigningEngine(privateKey), base64PublicKey);
+    }
+
+    // Hashes the data and signs it: returns the data, its hash and the proof
+    public SignedRecord sign(Object data, Object signatureCustom) throws Exception {
+        return sign(data, hashData(data), signatureCustom);
+    }
+
+    // Signs data whose raw hash (HashUtils.hashData) was already computed
+    SignedRecord sign(Object data, byte[] dataHash, Object signatureCustom) throws Exception {
+        Map<String, Object> proof = proofForHash(dataHash, signatureCustom);
+        return new SignedRecord(data, HashUtils.bytesToHex(dataHash), proof);
+    }
+
+    // Builds the proof for the data (same fields as the hand-built proof in the *SecurityTest drivers)
+    public Map<String, Object> createProof(Object data, Object signatureCustom) throws Exception {
+        return proofForHash(hashData(data), signatureCustom);
+    }
+
+    // Builds a proof over an already known data hash (hex), e.g. when a co-signer adds a proof.
+    // The hash must be lowercase hex, as createHash writes it: the digest signs the hex text, so
+    // "AB" and "ab" would give different digests (IllegalArgumentException otherwise).
+    public Map<String, Object> createProofForHash(String dataHash, Object signatureCustom) throws Exception {
+        return proofForHash(SignatureUtils.hexStringToByteArray(HashUtils.requireLowercaseHex(dataHash)), signatureCustom);
+    }
+
+    // The public key (Base64) written into each proof
+    public String getPublicKey() {
+        return base64PublicKey;
+    }
+
+    // Raw data hash, through the cache when there is one
+    byte[] hashData(Object data) throws IOException {
+        return cache != null ? cache.hashData(data) : HashUtils.hashData(data);
+    }
+
+    private Map<String, Object> proofForHash(byte[] dataHash, Object signatureCustom) throws Exception {
+        byte[] digest = HashUtils.signatureDigest(dataHash, signatureCustom);
+        byte[] signature = engine.sign(digest);
+        Map<String, Object> proof = new LinkedHashMap<>(8);
+        proof.put("method", METHOD);
+        proof.put("custom", signatureCustom);
+        proof.put("digest", HashUtils.bytesToHex(digest));
+        proof.put("public", base64PublicKey);
+        proof.put("result", Base64.getEncoder().encodeToString(signature));
+        return proof;
+    }
+
+    // A signed payload: data, its hash and the proofs collected so far
+    public static final class SignedRecord {
+        private final Object data;
+        private final String hash;
+        private final List<Map<String, Object>> proofs = new ArrayList<>(2);
+
+        SignedRecord(Object data, String hash, Map<String, Object> proof) {
+            this.data = data;
+            this.hash = hash;
+            this.proofs.add(proof);
+        }
+
+        public Object getData() {
+            return data;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        // First proof (the one created by sign)
+        public Map<String, Object> getProof() {
+            return proofs.get(0);
+        }
+
+        public List<Map<String, Object>> getProofs() {
+            return proofs;
+        }
+
+        // Adds a co-signer's proof for the same hash
+        public SignedRecord addProof(Map<String, Object> proof) {
+            proofs.add(proof);
+            return this;
+        }
+
+        // Request body for the ledger: { data, hash, meta: { proofs } } (meta is mutable, e.g. for labels)
+        public Map<String, Object> toRequest() {
+            Map<String, Object> meta = new LinkedHashMap<>();
+            meta.put("proofs", new ArrayList<>(proofs));
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("data", data);
+            request.put("hash", hash);
+            request.put("meta", meta);
+            return request;
+        }
+    }
+}
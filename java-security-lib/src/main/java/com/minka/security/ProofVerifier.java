@@ -0,0 +1,220 @@
+package com.minka.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Verifies ed25519-v2 proofs (meta.proofs) on ledger records.
+// For each proof it recomputes the data hash and the signature digest, checks the digest
+// field, and verifies the result signature against the proof's public key. Decoded
+// public keys are kept in a bounded, approximately LRU cache with lock-free reads; backend
+// verifiers are pooled. Thread-safe.
+public final class ProofVerifier {
+    // Default number of decoded public keys kept in the cache
+    public static final int DEFAULT_KEY_CACHE_SIZE = 1024;
+
+    private final ConcurrentLruCache<String, PublicKey> keyCache;
+    private final InstancePool<Ed25519Backend.Verifier> verifiers =
+            new InstancePool<>(ProofVerifier::newVerifier, InstancePool.DEFAULT_MAX_IDLE);
+    private final Executor executor;
+    private final CanonicalCache canonicalCache;
+
+    public ProofVerifier() {
+        this(DEFAULT_KEY_CACHE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    // Creates a verifier caching up to keyCacheSize public keys; batches run on the executor
+    public ProofVerifier(int keyCacheSize, Executor executor) {
+        this(keyCacheSize, executor, null);
+    }
+
+    // Same, hashing record data through the canonical cache (null for no cache)
+    public ProofVerifier(int keyCacheSize, Executor executor, CanonicalCache canonicalCache) {
+        this.keyCache = new ConcurrentLruCache<>(keyCacheSize);
+        this.executor = executor;
+        this.canonicalCache = canonicalCache;
+    }
+
+    // Verifies every proof of a record ({ data, hash, meta: { proofs } }); false if there are none
+    public boolean verifyRecord(Map<String, Object> record) throws Exception {
+        return verifyRecordDetailed(record).isValid();
+    }
+
+    // Verifies a record and reports which proofs failed
+    @SuppressWarnings("unchecked")
+    public Result verifyRecordDetailed(Map<String, Object> record) throws Exception {
+        Object data = record.get("data");
+        byte[] hash = hashData(data);
+        String hashHex = HashUtils.bytesToHex(hash);
+        if (record.get("hash") != null && !hashHex.equals(record.get("hash"))) {
+            return new Result(false, "hash does not match data", Collections.emptyList());
+        }
+        Object meta = record.get("meta");
+        List<Object> proofs = meta instanceof Map ? asList(((Map<String, Object>) meta).get("proofs")) : Collections.emptyList();
+        if (proofs.isEmpty()) {
+            return new Result(false, "no proofs", Collections.emptyList());
+        }
+        List<Integer> invalid = new ArrayList<>();
+        for (int i = 0; i < proofs.size(); i++) {
+            Object proof = proofs.get(i);
+            if (!(proof instanceof Map) || !verifyProof(hash, (Map<String, Object>) proof)) {
+                invalid.add(i);
+            }
+        }
+        return new Result(invalid.isEmpty(), invalid.isEmpty() ? null : "invalid proofs " + invalid, invalid);
+    }
+
+    // Verifies one proof over the given data
+    public boolean verifyProof(Object data, Map<String, Object> proof) throws Exception {
+        return verifyProof(hashData(data), proof);
+    }
+
+    // Verifies one proof over a known data hash. The hash must be lowercase hex, as createHash
+    // writes it (IllegalArgumentException otherwise, same as ProofBuilder.createProofForHash)
+    public boolean verifyProofForHash(String dataHash, Map<String, Object> proof) throws Exception {
+        return verifyProof(SignatureUtils.hexStringToByteArray(HashUtils.requireLowercaseHex(dataHash)), proof);
+    }
+
+    // Verifies many records in parallel; the future completes with one Result per record, in order
+    public CompletableFuture<List<Result>> verifyAllAsync(List<Map<String, Object>> records) {
+        Result[] results = new Result[records.size()];
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[results.length];
+        for (int i = 0; i < results.length; i++) {
+            final int index = i;
+            final Map<String, Object> record = records.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    results[index] = verifyRecordDetailed(record);
+                } catch (Exception e) {
+                    results[index] = new Result(false, e.toString(), Collections.emptyList());
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(tasks).thenApply(done -> Arrays.asList(results));
+    }
+
+    // Verifies many records in parallel and blocks until done
+    public List<Result> verifyAll(List<Map<String, Object>> records) {
+        return verifyAllAsync(records).join();
+    }
+
+    // Number of decoded public keys currently cached
+    public int cachedKeyCount() {
+        return keyCache.size();
+    }
+
+    private byte[] hashData(Object data) throws IOException {
+        return canonicalCache != null ? canonicalCache.hashData(data) : HashUtils.hashData(data);
+    }
+
+    private boolean verifyProof(byte[] dataHash, Map<String, Object> proof) throws Exception {
+        if (!ProofBuilder.METHOD.equals(proof.get("method"))) {
+            return false;
+        }
+        Object publicKey = proof.get("public");
+        Object result = proof.get("result");
+        if (!(publicKey instanceof String) || !(result instanceof String)) {
+            return false;
+        }
+        byte[] digest = HashUtils.signatureDigest(dataHash, proof.get("custom"));
+        Object claimedDigest = proof.get("digest");
+        if (claimedDigest != null && !HashUtils.bytesToHex(digest).equals(claimedDigest)) {
+            return false;
+        }
+        byte[] signature;
+        try {
+            signature = Base64.getDecoder().decode((String) result);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        PublicKey key;
+        try {
+            key = publicKey((String) publicKey);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return false; // Bad Base64, wrong length or malformed X.509: the proof cannot be valid
+        }
+        Ed25519Backend.Verifier verifier = verifiers.borrow();
+        boolean valid;
+        try {
+            valid = verifier.verify(key, digest, signature);
+        } catch (GeneralSecurityException e) {
+            return false; // Key rejected by the engine (InvalidKeyException); the verifier is dropped
+        }
+        verifiers.release(verifier);
+        return valid;
+    }
+
+    // Returns the decoded key for a Base64 public key, decoding it at most once while cached
+    private PublicKey publicKey(String base64PublicKey) throws Exception {
+        PublicKey key = keyCache.get(base64PublicKey);
+        if (key == null) {
+            key = decodePublicKey(base64PublicKey);
+            keyCache.put(base64PublicKey, key);
+        }
+        return key;
+    }
+
+    // Accepts both the X.509 DER form (KeyUtils) and the raw 32-byte key used in proofs and JWTs
+    static PublicKey decodePublicKey(String base64PublicKey) throws Exception {
+        if (Base64.getDecoder().decode(base64PublicKey).length == 32) {
+            return KeyUtils.loadEd25519PublicKeyFromRawBase64(base64PublicKey);
+        }
+        return KeyUtils.loadEd25519PublicKeyFromBase64(base64PublicKey);
+    }
+
+    private static Ed25519Backend.Verifier newVerifier() {
+        try {
+            return Ed25519Backends.current().newVerifier();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create Ed25519 signature engine", e);
+        }
+    }
+
+    private static List<Object> asList(Object value) {
+        if (value instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Object> list = (List<Object>) value;
+            return list;
+        }
+        if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        return Collections.emptyList();
+    }
+
+    // Verification outcome for one record
+    public static final class Result {
+        private final boolean valid;
+        private final String reason;
+        private final List<Integer> invalidProofs;
+
+        Result(boolean valid, String reason, List<Integer> invalidProofs) {
+            this.valid = valid;
+            this.reason = reason;
+            this.invalidProofs = invalidProofs;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        // Why the record is invalid (null when valid)
+        public String getReason() {
+            return reason;
+        }
+
+        // Indexes of proofs in meta.proofs that did not verify
+        public List<Integer> getInvalidProofs() {
+            return invalidProofs;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.minka.security;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// MetricsListener that keeps, per operation, a latency histogram (successful calls),
+// call and error counters and the bytes processed. Optionally published over JMX as
+// com.minka.security:type=SecurityMetrics,operation=<OPERATION>. Thread-safe.
+public final class RecordingMetricsListener implements MetricsListener {
+    // JMX domain and type of the registered beans
+    public static final String JMX_PREFIX = "com.minka.security:type=SecurityMetrics,operation=";
+
+    private final Map<SecurityMetrics.Operation, OperationStats> stats = new EnumMap<>(SecurityMetrics.Operation.class);
+
+    public RecordingMetricsListener() {
+        for (SecurityMetrics.Operation operation : SecurityMetrics.Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    // Creates a listener, registers its beans on the platform MBean server and installs it
+    public static RecordingMetricsListener install() throws JMException {
+        RecordingMetricsListener listener = new RecordingMetricsListener();
+        listener.registerMBeans();
+        SecurityMetrics.setListener(listener);
+        return listener;
+    }
+
+    @Override
+    public void onOperation(SecurityMetrics.Operation operation, long nanos, long bytes, Throwable error) {
+        stats.get(operation).record(nanos, bytes, error);
+    }
+
+    // Statistics for one operation
+    public OperationStats get(SecurityMetrics.Operation operation) {
+        return stats.get(operation);
+    }
+
+    // Registers one bean per operation, replacing beans left by a previous listener
+    public void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationStats operationStats : stats.values()) {
+            ObjectName name = objectName(operationStats.operation);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(operationStats, name);
+        }
+    }
+
+    public void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationStats operationStats : stats.values()) {
+            ObjectName name = objectName(operationStats.operation);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+    }
+
+    static ObjectName objectName(SecurityMetrics.Operation operation) throws JMException {
+        return new ObjectName(JMX_PREFIX + operation.name());
+    }
+
+    // Counters and latency histogram of one operation
+    public static final class OperationStats implements OperationStatsMXBean {
+        private final SecurityMetrics.Operation operation;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        OperationStats(SecurityMetrics.Operation operation) {
+            this.operation = operation;
+        }
+
+        void record(long nanos, long size, Throwable error) {
+            if (error != null) {
+                errors.increment();
+                return;
+            }
+            latency.record(nanos);
+            bytes.add(size);
+        }
+
+        @Override
+        public String getOperation() {
+            return operation.name();
+        }
+
+        // Successful calls
+        @Override
+        public long getCount() {
+            return latency.count();
+        }
+
+        @Override
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        // Bytes hashed, signed or parsed by successful calls
+        @Override
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return latency.mean() / 1000.0;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return percentileMicros(0.50);
+        }
+
+        @Override
+        public double getP90Micros() {
+            return percentileMicros(0.90);
+        }
+
+        @Override
+        public double getP99Micros() {
+            return percentileMicros(0.99);
+        }
+
+        @Override
+        public double getP999Micros() {
+            return percentileMicros(0.999);
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return latency.max() / 1000.0;
+        }
+
+        // Latency (microseconds) at the quantile (0..1) of successful calls
+        public double percentileMicros(double quantile) {
+            return latency.percentile(quantile) / 1000.0;
+        }
+
+        @Override
+        public void reset() {
+            latency.reset();
+            errors.reset();
+            bytes.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s count=%d errors=%d bytes=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                    operation, getCount(), getErrorCount(), getBytes(), getMeanMicros(), getP50Micros(),
+                    getP99Micros(), getMaxMicros());
+        }
+    }
+}
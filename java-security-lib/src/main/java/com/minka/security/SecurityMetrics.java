@@ -0,0 +1,56 @@
+package com.minka.security;
+
+// Instrumentation switch for the hashing, signing, JWT and key loading paths.
+// With the default NOOP listener each instrumented call only reads one volatile flag: no clock
+// reads, no allocation. Install a listener (for example RecordingMetricsListener, which also
+// exposes histograms over JMX) to receive the latency, payload size and outcome of every call.
+public final class SecurityMetrics {
+    // Instrumented operations. Operations are not nested: HASH and SIGNATURE_DIGEST include the time
+    // to serialize their input but do not also report a SERIALIZE, and JWT_SIGN in JwtUtils.signJWT
+    // includes parsing the keys. Bytes are UTF-8 bytes (token chars for JWT_SIGN).
+    public enum Operation {
+        SERIALIZE,        // HashUtils.serializeData / writeCanonical (JSON bytes written)
+        HASH,             // HashUtils.createHash / createHashStreaming / hashData (serialization + SHA-256)
+        SIGNATURE_DIGEST, // HashUtils.signatureDigest / createSignatureDigest (serialization + SHA-256)
+        SIGN,             // SignatureUtils.signEd25519, Ed25519SigningEngine.sign
+        JWT_SIGN,         // JwtUtils.signJWT (key parsing + signing) and JwtMinter token signing
+        KEY_LOAD          // KeyUtils loaders (encoded key bytes)
+    }
+
+    private static volatile MetricsListener listener = MetricsListener.NOOP;
+    private static volatile boolean enabled;
+
+    private SecurityMetrics() {
+    }
+
+    // Installs the listener (null or NOOP disables instrumentation)
+    public static void setListener(MetricsListener newListener) {
+        listener = newListener == null ? MetricsListener.NOOP : newListener;
+        enabled = listener != MetricsListener.NOOP;
+    }
+
+    public static MetricsListener getListener() {
+        return listener;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Start timestamp for an operation, 0 when instrumentation is off
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    static void success(Operation operation, long start, long bytes) {
+        if (start != 0) {
+            listener.onOperation(operation, System.nanoTime() - start, bytes, null);
+        }
+    }
+
+    static void failure(Operation operation, long start, Throwable error) {
+        if (start != 0) {
+            listener.onOperation(operation, System.nanoTime() - start, 0, error);
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.minka.security;
 
 import java.security.PrivateKey;
-import java.security.Signature;
 import java.util.Base64;
 
 // Utility class for creating Ed25519 digital signatures and encoding them
 public class SignatureUtils {
     // Signs a hex digest string with the given Ed25519 private key
     public static byte[] signEd25519(String hexDigest, PrivateKey privateKey) throws Exception {
-        byte[] data = hexStringToByteArray(hexDigest); // Convert hex to bytes
-        Signature sig = Signature.getInstance("Ed25519", "BC"); // Ed25519 signature engine
-        sig.initSign(privateKey); // Initialize with private key
-        sig.update(data); // Provide data to sign
-        return sig.sign(); // Return signature bytes
+        long start = SecurityMetrics.start();
+        try {
+            byte[] data = hexStringToByteArray(hexDigest); // Convert hex to bytes
+            Ed25519Backend.Signer signer = Ed25519Backends.current().newSigner(privateKey); // Ed25519 engine for the key
+            byte[] signature = signer.sign(data); // Return signature bytes
+            SecurityMetrics.success(SecurityMetrics.Operation.SIGN, start, data.length);
+            return signature;
+        } catch (Exception e) {
+            SecurityMetrics.failure(SecurityMetrics.Operation.SIGN, start, e);
+            throw e;
+        }
     }
 
     // Encodes a byte array signature to Base64 string
@@ -21,7 +26,7 @@ public class SignatureUtils {
     }
 
     // Helper to convert a hex string to a byte array
-    private static byte[] hexStringToByteArray(String s) {
+    static byte[] hexStringToByteArray(String s) {
         int len = s.length();
         byte[] data = new byte[len / 2];
         for (int i = 0; i < len; i += 2) {
@@ -0,0 +1,388 @@
+package com.minka.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Staged submission pipeline for high-volume intents/anchors: build -> hash -> sign -> submit.
+// Stages run on their own threads and are connected by bounded queues, so signing overlaps
+// with network I/O and a burst blocks the producer in submit() instead of growing memory.
+// At most maxInFlight requests are outstanding; 5xx responses and I/O failures (including HTTP
+// timeouts) are retried with exponential backoff, re-sending the original hash and proof (the
+// payload is not re-signed). Any other failure completes the submission immediately.
+public final class SubmissionPipeline implements AutoCloseable {
+    private final ProofBuilder proofBuilder;
+    private final LedgerClient client;
+    private final String path;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Duration closeTimeout;
+
+    private final BlockingQueue<Work> buildQueue;
+    private final BlockingQueue<Work> hashQueue;
+    private final BlockingQueue<Work> signQueue;
+    private final BlockingQueue<Work> submitQueue;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Set<Work> outstanding = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService retryScheduler;
+    private volatile boolean closed;
+
+    private SubmissionPipeline(Builder b) {
+        this.proofBuilder = b.proofBuilder;
+        this.client = b.client;
+        this.path = b.path;
+        this.maxRetries = b.maxRetries;
+        this.initialBackoffMillis = b.initialBackoff.toMillis();
+        this.maxBackoffMillis = b.maxBackoff.toMillis();
+        this.closeTimeout = b.closeTimeout;
+        this.buildQueue = new ArrayBlockingQueue<>(b.queueCapacity);
+        this.hashQueue = new ArrayBlockingQueue<>(b.queueCapacity);
+        this.signQueue = new ArrayBlockingQueue<>(b.queueCapacity);
+        this.submitQueue = new ArrayBlockingQueue<>(b.queueCapacity);
+        this.maxInFlight = b.maxInFlight;
+        this.inFlight = new Semaphore(b.maxInFlight);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "pipeline-retry"));
+
+        startStage("build", 1, buildQueue, this::build);
+        startStage("hash", b.workerThreads, hashQueue, this::hash);
+        startStage("sign", b.workerThreads, signQueue, this::sign);
+        startStage("submit", 1, submitQueue, this::send);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Queues a payload; blocks while the build queue is full (backpressure)
+    public CompletableFuture<Result> submit(Object data, Map<String, Object> signatureCustom) throws InterruptedException {
+        return submit(() -> data, signatureCustom);
+    }
+
+    // Queues a payload built lazily on the build stage; blocks while the build queue is full
+    public CompletableFuture<Result> submit(Supplier<?> dataBuilder, Map<String, Object> signatureCustom)
+            throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Pipeline is closed");
+        }
+        Work work = new Work(dataBuilder, signatureCustom);
+        outstanding.add(work);
+        buildQueue.put(work);
+        return work.future;
+    }
+
+    // Current number of items waiting in each stage's queue (build, hash, sign, submit)
+    public Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        depths.put("build", buildQueue.size());
+        depths.put("hash", hashQueue.size());
+        depths.put("sign", signQueue.size());
+        depths.put("submit", submitQueue.size());
+        return depths;
+    }
+
+    // Requests currently sent and awaiting a response
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    // Items submitted but not completed yet (queued, in flight or waiting for a retry)
+    public int pending() {
+        return outstanding.size();
+    }
+
+    // Closes with the builder's close timeout (default 30 seconds). If the calling thread is
+    // interrupted while waiting, outstanding submissions fail with the InterruptedException and
+    // the interrupt flag is set again; use close(Duration) to handle the interruption instead.
+    @Override
+    public void close() {
+        try {
+            close(closeTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stops accepting work and waits up to the timeout for everything queued to complete, then
+    // stops the stage threads. Submissions still outstanding at the deadline complete with a
+    // TimeoutException. Returns true if everything completed in time. If interrupted, the
+    // pipeline is still stopped and outstanding submissions complete with the InterruptedException.
+    public boolean close(Duration timeout) throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean drained;
+        try {
+            synchronized (outstanding) {
+                long remaining;
+                while (!outstanding.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(outstanding, remaining);
+                }
+                drained = outstanding.isEmpty();
+            }
+        } catch (InterruptedException e) {
+            stop(e);
+            throw e;
+        }
+        stop(new TimeoutException("Pipeline closed before the submission completed"));
+        return drained;
+    }
+
+    // Stops the stage threads and retries, then fails whatever is still outstanding with the cause
+    private void stop(Exception cause) {
+        retryScheduler.shutdownNow();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        // Unblock producers stuck in submit() so their work can be failed below
+        buildQueue.clear();
+        for (Work work : new ArrayList<>(outstanding)) {
+            complete(work, null, cause);
+        }
+    }
+
+    private void build(Work work) throws Exception {
+        work.data = work.dataBuilder.get();
+        hashQueue.put(work);
+    }
+
+    private void hash(Work work) throws Exception {
+        work.hash = proofBuilder.hashData(work.data);
+        signQueue.put(work);
+    }
+
+    private void sign(Work work) throws Exception {
+        work.record = proofBuilder.sign(work.data, work.hash, work.signatureCustom);
+        work.request = work.record.toRequest();
+        submitQueue.put(work);
+    }
+
+    // Waits for an in-flight slot, then sends without blocking on the response
+    private void send(Work work) throws InterruptedException {
+        inFlight.acquire();
+        work.attempts++;
+        client.postAsync(path, work.request).whenComplete((response, error) -> {
+            inFlight.release();
+            boolean retryable = error != null ? isRetryable(error) : response.getStatusCode() >= 500;
+            if (retryable && work.attempts <= maxRetries && !retryScheduler.isShutdown()) {
+                long delay = backoff(work.attempts);
+                retryScheduler.schedule(() -> requeue(work), delay, TimeUnit.MILLISECONDS);
+            } else {
+                Exception cause = error == null ? null : error instanceof Exception ? (Exception) error : new Exception(error);
+                complete(work, response, cause);
+            }
+        });
+    }
+
+    // Only transport failures are worth repeating; HttpTimeoutException is an IOException
+    private static boolean isRetryable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof IOException;
+    }
+
+    private void requeue(Work work) {
+        try {
+            submitQueue.put(work); // Same request map: original hash and proof are re-sent
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete(work, null, e);
+        }
+    }
+
+    // Exponential backoff with jitter: initial * 2^(attempt-1), capped, +/- 20%
+    private long backoff(int attempt) {
+        long base = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long jitter = base / 5;
+        return Math.max(0, base - jitter + ThreadLocalRandom.current().nextLong(2 * jitter + 1));
+    }
+
+    // Completes a submission once; later outcomes (e.g. a response after close timed out) are dropped
+    private void complete(Work work, LedgerClient.Response response, Exception error) {
+        if (!outstanding.remove(work)) {
+            return;
+        }
+        work.future.complete(new Result(work.record, response, error, work.attempts));
+        if (outstanding.isEmpty()) {
+            synchronized (outstanding) {
+                outstanding.notifyAll();
+            }
+        }
+    }
+
+    private void startStage(String name, int threads, BlockingQueue<Work> queue, Stage stage) {
+        for (int i = 1; i <= threads; i++) {
+            Thread thread = daemon(() -> {
+                while (true) {
+                    Work work;
+                    try {
+                        work = queue.take();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    try {
+                        stage.process(work);
+                    } catch (InterruptedException e) {
+                        complete(work, null, e);
+                        return;
+                    } catch (Exception e) {
+                        complete(work, null, e); // This item failed; the stage keeps running
+                    }
+                }
+            }, "pipeline-" + name + "-" + i);
+            workers.add(thread);
+            thread.start();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private interface Stage {
+        void process(Work work) throws Exception;
+    }
+
+    // One payload moving through the stages
+    private static final class Work {
+        final Supplier<?> dataBuilder;
+        final Map<String, Object> signatureCustom;
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+        Object data;
+        byte[] hash;
+        ProofBuilder.SignedRecord record;
+        Map<String, Object> request;
+        int attempts;
+
+        Work(Supplier<?> dataBuilder, Map<String, Object> signatureCustom) {
+            this.dataBuilder = dataBuilder;
+            this.signatureCustom = signatureCustom;
+        }
+    }
+
+    // Final outcome for one submission
+    public static final class Result {
+        private final ProofBuilder.SignedRecord record;
+        private final LedgerClient.Response response;
+        private final Exception error;
+        private final int attempts;
+
+        Result(ProofBuilder.SignedRecord record, LedgerClient.Response response, Exception error, int attempts) {
+            this.record = record;
+            this.response = response;
+            this.error = error;
+            this.attempts = attempts;
+        }
+
+        // True if the ledger answered 2xx
+        public boolean isSuccess() {
+            return error == null && response != null && response.isSuccess();
+        }
+
+        // Signed record (null if building, hashing or signing failed)
+        public ProofBuilder.SignedRecord getRecord() {
+            return record;
+        }
+
+        // Last ledger response (null if none was received)
+        public LedgerClient.Response getResponse() {
+            return response;
+        }
+
+        // Failure cause for a stage error or I/O failure (null otherwise)
+        public Exception getError() {
+            return error;
+        }
+
+        // Number of HTTP attempts made
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+
+    public static final class Builder {
+        private ProofBuilder proofBuilder;
+        private LedgerClient client;
+        private String path = "/intents";
+        private int workerThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        private int queueCapacity = 1024;
+        private int maxInFlight = 64;
+        private int maxRetries = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private Duration closeTimeout = Duration.ofSeconds(30);
+
+        public Builder proofBuilder(ProofBuilder proofBuilder) {
+            this.proofBuilder = proofBuilder;
+            return this;
+        }
+
+        public Builder client(LedgerClient client) {
+            this.client = client;
+            return this;
+        }
+
+        // Endpoint to POST to (default /intents; /anchors for anchors)
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
+        // Threads for each of the hash and sign stages (default: available processors)
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        // Capacity of each stage queue
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        // Maximum requests awaiting a response at once
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        // Retries after the first attempt for 5xx responses and I/O failures (IOException, HttpTimeoutException)
+        public Builder retries(int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+            this.maxRetries = maxRetries;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        // How long close() waits for outstanding submissions before failing them
+        public Builder closeTimeout(Duration closeTimeout) {
+            this.closeTimeout = closeTimeout;
+            return this;
+        }
+
+        public SubmissionPipeline build() {
+            if (proofBuilder == null || client == null) {
+                throw new IllegalStateException("proofBuilder and client are required");
+            }
+            return new SubmissionPipeline(this);
+        }
+    }
+}
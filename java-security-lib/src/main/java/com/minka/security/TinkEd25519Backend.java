@@ -0,0 +1,71 @@
+package com.minka.security;
+
+import com.google.crypto.tink.subtle.Ed25519Sign;
+import com.google.crypto.tink.subtle.Ed25519Verify;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+// Ed25519 backend on Tink's pure-Java implementation.
+// Key objects are still JCA keys (parsed by BouncyCastle); Tink works on the raw 32-byte
+// seed and public key extracted from their PKCS#8 / X.509 encodings.
+final class TinkEd25519Backend implements Ed25519Backend {
+    private final Ed25519Backend keys = JcaEd25519Backend.bouncyCastle();
+
+    @Override
+    public String getName() {
+        return "tink";
+    }
+
+    @Override
+    public PrivateKey loadPrivateKey(byte[] pkcs8) throws GeneralSecurityException {
+        return keys.loadPrivateKey(pkcs8);
+    }
+
+    @Override
+    public PublicKey loadPublicKey(byte[] x509) throws GeneralSecurityException {
+        return keys.loadPublicKey(x509);
+    }
+
+    @Override
+    public Signer newSigner(PrivateKey privateKey) throws GeneralSecurityException {
+        Ed25519Sign signer = new Ed25519Sign(seed(privateKey));
+        return signer::sign;
+    }
+
+    @Override
+    public Verifier newVerifier() {
+        return (publicKey, message, signature) -> {
+            try {
+                new Ed25519Verify(rawPublicKey(publicKey)).verify(signature, message);
+                return true;
+            } catch (GeneralSecurityException e) {
+                return false;
+            }
+        };
+    }
+
+    // 32-byte seed inside the PKCS#8 PrivateKeyInfo (an OCTET STRING wrapped in the privateKey field)
+    private static byte[] seed(PrivateKey privateKey) throws InvalidKeyException {
+        try {
+            return ASN1OctetString.getInstance(PrivateKeyInfo.getInstance(privateKey.getEncoded()).parsePrivateKey()).getOctets();
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidKeyException("Not a PKCS#8 Ed25519 private key", e);
+        }
+    }
+
+    // 32-byte public key inside the X.509 SubjectPublicKeyInfo
+    private static byte[] rawPublicKey(PublicKey publicKey) throws InvalidKeyException {
+        try {
+            return SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()).getPublicKeyData().getOctets();
+        } catch (RuntimeException e) {
+            throw new InvalidKeyException("Not an X.509 Ed25519 public key", e);
+        }
+    }
+}
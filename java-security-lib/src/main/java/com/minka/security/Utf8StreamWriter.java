@@ -0,0 +1,169 @@
+package com.minka.security;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+// Writer that encodes chars to UTF-8 through a small reusable byte buffer.
+// Encoding matches String.getBytes(UTF_8) exactly, including the '?' replacement
+// for unpaired surrogates, so streamed output is byte-for-byte the same as the String path.
+final class Utf8StreamWriter extends Writer {
+    private final byte[] buffer;
+    private int position;
+    private OutputStream out;
+    private char pendingHigh; // High surrogate waiting for its low half (0 if none)
+    private long written; // Bytes pushed to the target since the last reset
+
+    Utf8StreamWriter(OutputStream out, int bufferSize) {
+        this.buffer = new byte[Math.max(bufferSize, 16)];
+        this.out = out;
+    }
+
+    // Points the writer at a new target and clears any buffered state
+    void reset(OutputStream out) {
+        this.out = out;
+        this.position = 0;
+        this.pendingHigh = 0;
+        this.written = 0;
+    }
+
+    // Bytes pushed to the target since the last reset (all of them after finish)
+    long bytesWritten() {
+        return written;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            if (pendingHigh == 0) {
+                // ASCII fast path: copy straight into the buffer until a non-ASCII char or a full buffer
+                byte[] buf = buffer;
+                int p = position;
+                int limit = Math.min(end, off + (buf.length - p));
+                while (off < limit) {
+                    char c = cbuf[off];
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[p++] = (byte) c;
+                    off++;
+                }
+                position = p;
+                if (off == end) {
+                    return;
+                }
+                if (p == buf.length) {
+                    drain();
+                    continue;
+                }
+            }
+            encode(cbuf[off++]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int end = off + len;
+        while (off < end) {
+            if (pendingHigh == 0) {
+                byte[] buf = buffer;
+                int p = position;
+                int limit = Math.min(end, off + (buf.length - p));
+                while (off < limit) {
+                    char c = str.charAt(off);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[p++] = (byte) c;
+                    off++;
+                }
+                position = p;
+                if (off == end) {
+                    return;
+                }
+                if (p == buf.length) {
+                    drain();
+                    continue;
+                }
+            }
+            encode(str.charAt(off++));
+        }
+    }
+
+    // Resolves a dangling surrogate and pushes all buffered bytes to the target
+    void finish() throws IOException {
+        if (pendingHigh != 0) {
+            pendingHigh = 0;
+            put('?');
+        }
+        drain();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void encode(char c) throws IOException {
+        if (position > buffer.length - 4) {
+            drain();
+        }
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            buffer[position++] = '?';
+            if (position > buffer.length - 4) {
+                drain();
+            }
+        }
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            written += position;
+            position = 0;
+        }
+    }
+}
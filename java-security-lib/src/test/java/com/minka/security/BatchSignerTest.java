@@ -0,0 +1,76 @@
+package com.minka.security;
+
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Checks BatchSigner order, per-item failures and prints throughput against the sequential loop
+public class BatchSignerTest {
+    public static void main(String[] args) throws Exception {
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        String nowIso = Instant.now().toString();
+
+        int count = 4000;
+        int failingIndex = 1234;
+        List<BatchSigner.Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object data = i == failingIndex ? Collections.singletonMap("bad", new Object()) // Not serializable
+                    : TestPayloads.anchorData("31234" + i);
+            items.add(BatchSigner.Item.of(data, TestPayloads.signatureCustom("active", nowIso)));
+        }
+
+        // Sequential loop, as the drivers do it today
+        for (int i = 0; i < 500; i++) { // warm-up
+            sequential(items.get(i), privateKey);
+        }
+        long start = System.nanoTime();
+        String[] expected = new String[count];
+        for (int i = 0; i < count; i++) {
+            expected[i] = i == failingIndex ? null : sequential(items.get(i), privateKey);
+        }
+        report("sequential HashUtils+SignatureUtils", count, System.nanoTime() - start);
+
+        // Batch on the common pool and on fixed pools of different sizes
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("available processors: " + cores);
+        verify(new BatchSigner(proofBuilder).signAll(items), expected, failingIndex); // warm-up + check
+        start = System.nanoTime();
+        verify(new BatchSigner(proofBuilder).signAll(items.stream()), expected, failingIndex);
+        report("BatchSigner commonPool", count, System.nanoTime() - start);
+        for (int threads : new int[]{1, 2, 4, cores}) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            start = System.nanoTime();
+            verify(new BatchSigner(proofBuilder, pool).signAll(items), expected, failingIndex);
+            report("BatchSigner " + threads + " threads", count, System.nanoTime() - start);
+            pool.shutdown();
+        }
+        System.out.println("BATCH SIGNER OK");
+    }
+
+    private static String sequential(BatchSigner.Item item, PrivateKey privateKey) throws Exception {
+        String hash = HashUtils.createHash(item.getData());
+        String digest = HashUtils.createSignatureDigest(hash, item.getSignatureCustom());
+        return SignatureUtils.toBase64(SignatureUtils.signEd25519(digest, privateKey));
+    }
+
+    private static void verify(List<BatchSigner.Result> results, String[] expected, int failingIndex) {
+        TestPayloads.check(results.size() == expected.length, "result count");
+        for (int i = 0; i < expected.length; i++) {
+            BatchSigner.Result result = results.get(i);
+            TestPayloads.check(result.getIndex() == i, "order at " + i);
+            if (i == failingIndex) {
+                TestPayloads.check(!result.isSuccess() && result.getError() != null, "item " + i + " should fail");
+            } else {
+                TestPayloads.check(result.isSuccess(), "item " + i + " failed: " + result.getError());
+                TestPayloads.check(expected[i].equals(result.getRecord().getProof().get("result")), "signature at " + i);
+            }
+        }
+        TestPayloads.check(BatchSigner.records(results).size() == expected.length - 1, "records");
+    }
+
+    private static void report(String label, int count, long nanos) {
+        System.out.printf("%-40s %8.0f items/s%n", label, count / (nanos / 1e9));
+    }
+}
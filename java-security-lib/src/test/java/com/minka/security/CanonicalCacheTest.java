@@ -0,0 +1,89 @@
+package com.minka.security;
+
+import java.time.Instant;
+import java.util.*;
+
+// Checks that CanonicalCache hashes match HashUtils (including after edits), its bounds and hit counts; prints timings
+public class CanonicalCacheTest {
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        CanonicalCache cache = new CanonicalCache();
+        Map<String, Object> intent = TestPayloads.intentData("cached", 500);
+        same(cache, intent, "first hash");
+        long misses = cache.getMisses();
+        TestPayloads.check(cache.getHits() == 0 && misses == 500 + 2 + 0, "claims and access rules cached: " + misses);
+        same(cache, intent, "second hash");
+        TestPayloads.check(cache.getMisses() == misses && cache.getHits() == misses, "all sub-objects hit");
+
+        // Edits to the caller's maps are never served from the cache
+        Object[] claims = (Object[]) intent.get("claims");
+        ((Map<String, Object>) claims[7]).put("amount", 999);
+        Map<String, Object> source = (Map<String, Object>) ((Map<String, Object>) claims[9]).get("source");
+        ((Map<String, Object>) source.get("custom")).put("name", "Otro Nombre");
+        same(cache, intent, "after edits");
+        TestPayloads.check(cache.getMisses() == misses + 2, "only the edited claims miss");
+
+        // Top-level fields outside claims/access/custom, typed records and uncacheable values
+        intent.put("schema", "changed");
+        intent.put("custom", Collections.singletonMap("ids", new Object[]{1, 2})); // Arrays are not cached
+        same(cache, intent, "uncacheable custom");
+        same(cache, intent, "uncacheable custom again");
+        Intent typed = CanonicalRecordTest.intent("typed", 20);
+        TestPayloads.check(Arrays.equals(cache.hashData(typed), HashUtils.hashData(typed)), "typed intent");
+        TestPayloads.check(Arrays.equals(cache.hashData(typed), HashUtils.hashData(TestPayloads.intentData("typed", 20))),
+                "typed intent hit");
+        same(cache, TestPayloads.anchorData("312345"), "anchor");
+        same(cache, Collections.singletonList(intent), "non-map document");
+        same(cache, null, "null document");
+
+        // Bounds
+        CanonicalCache small = new CanonicalCache(10, 1_000_000);
+        same(small, intent, "small cache");
+        TestPayloads.check(small.size() == 10 && small.getEvictions() > 0, "entry bound");
+        CanonicalCache tiny = new CanonicalCache(1000, 2_000);
+        same(tiny, intent, "tiny cache");
+        TestPayloads.check(tiny.cachedChars() <= 2_000, "char bound");
+
+        // Proofs built and verified through a shared cache
+        ProofBuilder proofBuilder = new ProofBuilder(
+                new Ed25519SigningEngine(KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH)),
+                TestPayloads.PUBLIC_KEY, cache);
+        Map<String, Object> signatureCustom = TestPayloads.signatureCustom("active", Instant.now().toString());
+        ProofBuilder.SignedRecord record = proofBuilder.sign(intent, signatureCustom);
+        TestPayloads.check(record.getHash().equals(HashUtils.createHash(intent)), "signed hash");
+        ProofVerifier verifier = new ProofVerifier(16, Runnable::run, cache);
+        TestPayloads.check(verifier.verifyRecord(record.toRequest()), "verify through cache");
+        System.out.printf("hits=%d misses=%d evictions=%d hitRate=%.2f size=%d chars=%d%n", cache.getHits(),
+                cache.getMisses(), cache.getEvictions(), cache.hitRate(), cache.size(), cache.cachedChars());
+
+        // Re-hashing a large intent after a one-claim change
+        Map<String, Object> large = TestPayloads.intentData("large", 500);
+        Object[] largeClaims = (Object[]) large.get("claims");
+        for (int round = 0; round < 2; round++) {
+            time("HashUtils.hashData intent-500", () -> HashUtils.hashData(large));
+            time("CanonicalCache intent-500", () -> {
+                ((Map<String, Object>) largeClaims[0]).put("amount", System.nanoTime());
+                cache.hashData(large);
+            });
+        }
+        System.out.println("CANONICAL CACHE OK");
+    }
+
+    private static void same(CanonicalCache cache, Object data, String label) throws Exception {
+        TestPayloads.check(Arrays.equals(cache.hashData(data), HashUtils.hashData(data)), label);
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void time(String label, Task task) throws Exception {
+        int iterations = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-32s %8.0f ops/s%n", label, iterations / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,119 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.*;
+
+// Checks that the typed Intent/Anchor model hashes exactly like the nested Map payloads; prints throughput
+public class CanonicalRecordTest {
+    public static void main(String[] args) throws Exception {
+        Anchor anchor = anchor("312345");
+        Map<String, Object> anchorMap = TestPayloads.anchorData("312345");
+        same(anchor, anchorMap, "anchor");
+
+        for (int claims : new int[]{0, 1, 50}) {
+            same(intent("intent-" + claims, claims), TestPayloads.intentData("intent-" + claims, claims), "intent " + claims);
+        }
+
+        // Escaping, nested custom values and optional fields
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("zeta", Arrays.asList(1, "dos", null));
+        custom.put("alpha", Collections.singletonMap("ñ", "\"quoted\" \u0001 😀"));
+        Intent odd = Intent.builder().handle("línea\n✓").custom(custom)
+                .addClaim(Claim.builder().action("issue").amount(-5).symbol("usd").target(Party.of("t")).build())
+                .build();
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("action", "issue");
+        claim.put("amount", -5);
+        claim.put("symbol", Collections.singletonMap("handle", "usd"));
+        claim.put("target", Collections.singletonMap("handle", "t"));
+        Map<String, Object> oddMap = new HashMap<>();
+        oddMap.put("handle", "línea\n✓");
+        oddMap.put("custom", custom);
+        oddMap.put("claims", Collections.singletonList(claim));
+        same(odd, oddMap, "escaping and optional fields");
+
+        // A claim without an amount has no amount field (not "amount":0)
+        Claim noAmount = Claim.builder().action("issue").symbol("usd").target(Party.of("t")).build();
+        Map<String, Object> noAmountMap = new HashMap<>(claim);
+        noAmountMap.remove("amount");
+        TestPayloads.check(noAmount.getAmount() == null, "unset amount");
+        same(noAmount, noAmountMap, "claim without amount");
+        same(Claim.builder().action("issue").amount((Long) null).symbol("usd").target(Party.of("t")).build(), noAmountMap,
+                "null amount");
+
+        // Typed fields stay sorted through a plain ObjectMapper (free-form maps are only sorted by HashUtils)
+        Anchor bare = Anchor.builder().target("t").handle("h").symbol("cop").schema("s").build();
+        TestPayloads.check(new ObjectMapper().writeValueAsString(bare)
+                .equals("{\"handle\":\"h\",\"schema\":\"s\",\"symbol\":\"cop\",\"target\":\"t\"}"), "plain ObjectMapper");
+
+        // And inside signed envelopes
+        ProofBuilder proofBuilder = new ProofBuilder(
+                KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH), TestPayloads.PUBLIC_KEY);
+        Map<String, Object> signatureCustom = TestPayloads.signatureCustom("active", Instant.now().toString());
+        ProofBuilder.SignedRecord typed = proofBuilder.sign(anchor, signatureCustom);
+        ProofBuilder.SignedRecord mapped = proofBuilder.sign(anchorMap, signatureCustom);
+        TestPayloads.check(typed.getHash().equals(mapped.getHash()), "signed hash");
+        TestPayloads.check(HashUtils.serializeData(typed.toRequest()).equals(HashUtils.serializeData(mapped.toRequest())),
+                "signed envelope");
+
+        Intent intent = intent("bench", 50);
+        Map<String, Object> intentMap = TestPayloads.intentData("bench", 50);
+        for (int round = 0; round < 2; round++) {
+            time("hashData Map intent-50", () -> HashUtils.hashData(intentMap));
+            time("hashData Intent intent-50", () -> HashUtils.hashData(intent));
+        }
+        System.out.println("CANONICAL RECORD OK");
+    }
+
+    // Typed equivalent of TestPayloads.anchorData
+    static Anchor anchor(String handle) {
+        Map<String, Object> source = TestPayloads.anchorData(handle);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> custom = (Map<String, Object>) source.get("custom");
+        return Anchor.builder().handle(handle).target("svgs:20359303@bancorojo.co").symbol("cop")
+                .schema("individual").custom(custom).build();
+    }
+
+    // Typed equivalent of TestPayloads.intentData
+    @SuppressWarnings("unchecked")
+    static Intent intent(String handle, int claimCount) {
+        Intent.Builder builder = Intent.builder().handle(handle).schema("transfer")
+                .addAccess(AccessRule.signer("any", TestPayloads.PUBLIC_KEY))
+                .addAccess(AccessRule.bearer("read", TestPayloads.PUBLIC_KEY))
+                .config(Collections.singletonMap("commit", "auto"))
+                .claims(new ArrayList<>());
+        for (int i = 0; i < claimCount; i++) {
+            Map<String, Object> claim = TestPayloads.claim(i);
+            Map<String, Object> source = (Map<String, Object>) claim.get("source");
+            Map<String, Object> target = (Map<String, Object>) claim.get("target");
+            builder.addClaim(Claim.transfer(
+                    new Party((String) source.get("handle"), (Map<String, Object>) source.get("custom")),
+                    new Party((String) target.get("handle"), (Map<String, Object>) target.get("custom")),
+                    "cop", 400 + i));
+        }
+        return builder.build();
+    }
+
+    private static void same(CanonicalRecord typed, Map<String, Object> map, String label) throws Exception {
+        String expected = HashUtils.serializeData(map);
+        TestPayloads.check(HashUtils.serializeData(typed).equals(expected), label + " JSON: " + typed + " vs " + expected);
+        TestPayloads.check(HashUtils.createHash(typed).equals(HashUtils.createHash(map)), label + " createHash");
+        TestPayloads.check(Arrays.equals(HashUtils.hashData(typed), HashUtils.hashData(map)), label + " hashData");
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void time(String label, Task task) throws Exception {
+        int iterations = 20_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-28s %8.0f ops/s%n", label, iterations / (nanos / 1e9));
+    }
+}
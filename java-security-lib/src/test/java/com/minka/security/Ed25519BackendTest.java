@@ -0,0 +1,55 @@
+package com.minka.security;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.*;
+
+// Checks that the bc, sunec and tink backends produce identical signatures and accept each other's keys
+public class Ed25519BackendTest {
+    public static void main(String[] args) throws Exception {
+        byte[] pkcs8 = Files.readAllBytes(Paths.get(TestPayloads.DER_KEY_PATH));
+        PublicKey rawPublic = KeyUtils.loadEd25519PublicKeyFromRawBase64(TestPayloads.PUBLIC_KEY);
+        byte[] digest = HashUtils.signatureDigest(HashUtils.hashData(TestPayloads.anchorData("3123454333")),
+                TestPayloads.signatureCustom("active", Instant.now().toString()));
+
+        byte[] reference = null;
+        for (Ed25519Backend backend : Ed25519Backends.candidates()) {
+            PrivateKey privateKey = backend.loadPrivateKey(pkcs8);
+            PublicKey publicKey = backend.loadPublicKey(rawPublic.getEncoded());
+            byte[] signature = backend.newSigner(privateKey).sign(digest);
+            if (reference == null) {
+                reference = signature;
+            }
+            TestPayloads.check(Arrays.equals(reference, signature), backend.getName() + " signature differs");
+            TestPayloads.check(backend.newVerifier().verify(publicKey, digest, signature), backend.getName() + " verify");
+            TestPayloads.check(backend.newVerifier().verify(rawPublic, digest, signature), backend.getName() + " foreign key");
+            byte[] bad = signature.clone();
+            bad[0] ^= 1;
+            TestPayloads.check(!backend.newVerifier().verify(publicKey, digest, bad), backend.getName() + " must reject");
+
+            // Engine, ProofBuilder and ProofVerifier on this backend give the same proofs
+            Ed25519Backends.select(backend.getName());
+            PrivateKey loaded = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+            TestPayloads.check(Arrays.equals(reference, new Ed25519SigningEngine(loaded).sign(digest)), backend.getName() + " engine");
+            Map<String, Object> record = new ProofBuilder(loaded, TestPayloads.PUBLIC_KEY)
+                    .sign(TestPayloads.intentData("20250101000000000ALI1", 2), TestPayloads.signatureCustom("created", "x"))
+                    .toRequest();
+            TestPayloads.check(new ProofVerifier().verifyRecord(record), backend.getName() + " proof verify");
+
+            // KeyRegistry entries loaded through this backend sign like the others (key encodings may differ)
+            try (KeyRegistry registry = new KeyRegistry(Paths.get(TestPayloads.DER_KEY_PATH).toAbsolutePath().getParent())) {
+                KeyRegistry.SignerKeys keys = registry.get(TestPayloads.SIGNER);
+                TestPayloads.check(Arrays.equals(reference, keys.getEngine().sign(digest)), backend.getName() + " registry");
+            }
+            System.out.println("OK " + backend.getName());
+        }
+
+        Ed25519Backend chosen = Ed25519Backends.autoSelect();
+        System.out.println("auto-selected " + chosen.getName() + ": " + Ed25519Backends.selectionReport());
+        Ed25519Backends.select("bc");
+        System.out.println("ED25519 BACKENDS OK");
+    }
+}
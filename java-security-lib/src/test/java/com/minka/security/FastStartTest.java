@@ -0,0 +1,41 @@
+package com.minka.security;
+
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+// Checks fast-start mode (no eager BouncyCastle registration) and the warm-up stages
+public class FastStartTest {
+    public static void main(String[] args) throws Exception {
+        // Must be set before KeyUtils and Ed25519Backends are initialized
+        System.setProperty(FastStart.PROPERTY, "true");
+        System.setProperty(Ed25519Backends.BACKEND_PROPERTY, "sunec");
+
+        FastStart.Report report = FastStart.warmUp(5);
+        System.out.println("warm-up: " + report);
+        TestPayloads.check(report.getStages().keySet().toString().equals("[sha256, ed25519, jackson, proof, jwt]"), "stages");
+        TestPayloads.check(Security.getProvider("BC") == null, "BouncyCastle must not be registered with sunec in fast-start mode");
+
+        FastStart.Report async = FastStart.warmUpAsync().get(60, TimeUnit.SECONDS);
+        TestPayloads.check(async.getTotalNanos() > 0, "async warm-up");
+
+        // The built-in test key copies cannot be modified, and its raw public key matches it
+        Ed25519Backends.testPublicKey()[20] ^= 1;
+        TestPayloads.check(FastStart.testRawPublicKey().equals("11qYAYKxCrfVS/7TyWQHOg7hcvPapiMlrwIaaPcHURo="), "test key copy");
+        FastStart.main(new String[] {"--no-warmup"}); // Fails if the first proof does not verify
+
+        // --key needs the matching --public
+        FastStart.main(new String[] {"--no-warmup", "--key", TestPayloads.DER_KEY_PATH, "--public", TestPayloads.PUBLIC_KEY});
+        try {
+            FastStart.main(new String[] {"--no-warmup", "--key", TestPayloads.DER_KEY_PATH, "--public", FastStart.testRawPublicKey()});
+            TestPayloads.check(false, "mismatched --public must fail");
+        } catch (IllegalArgumentException expected) {
+            // The first proof does not verify against the given public key
+        }
+
+        // The bc backend registers the provider on first use
+        Ed25519Backends.select("bc");
+        KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        TestPayloads.check(Security.getProvider("BC") != null, "BouncyCastle registered on first use");
+        System.out.println("FAST START OK");
+    }
+}
@@ -0,0 +1,107 @@
+package com.minka.security;
+
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import java.time.*;
+import java.util.*;
+
+// Checks JwtMinter output against JwtUtils.signJWT and its token reuse window
+public class JwtMinterTest {
+    public static void main(String[] args) throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        JwtMinter minter = new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY,
+                Duration.ofSeconds(60), Duration.ofSeconds(10), clock);
+
+        // Same payload gives the same token as JwtUtils (Ed25519 is deterministic)
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("iss", TestPayloads.SIGNER);
+        payload.put("sub", "signer:" + TestPayloads.SIGNER);
+        payload.put("aud", "hector-ledger-test");
+        payload.put("iat", 1735689600L);
+        payload.put("exp", 1735689660L);
+        String expected = JwtUtils.signJWT(payload, TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY);
+        TestPayloads.check(expected.equals(minter.sign(payload)), "sign() differs from JwtUtils.signJWT");
+
+        // Cached token is reused until 10s before exp
+        String first = minter.tokenForSigner(TestPayloads.SIGNER, "hector-ledger-test");
+        verify(first, 1735689660L);
+        clock.advance(49);
+        TestPayloads.check(first.equals(minter.tokenForSigner(TestPayloads.SIGNER, "hector-ledger-test")), "token should be reused");
+        TestPayloads.check(!first.equals(minter.tokenForSigner(TestPayloads.SIGNER, "other-ledger")), "aud must be part of the key");
+        clock.advance(1);
+        String second = minter.tokenForSigner(TestPayloads.SIGNER, "hector-ledger-test");
+        TestPayloads.check(!first.equals(second), "token should be re-signed inside the margin");
+        verify(second, 1735689710L);
+
+        // Tokens for claims no longer used are evicted once they expire: the cache stays bounded
+        for (int i = 0; i < 1000; i++) {
+            minter.token("issuer-" + i, "sub", "aud");
+        }
+        TestPayloads.check(minter.cachedTokenCount() == 1002, "cached " + minter.cachedTokenCount());
+        clock.advance(60);
+        minter.tokenForSigner(TestPayloads.SIGNER, "hector-ledger-test");
+        TestPayloads.check(minter.cachedTokenCount() == 1, "expired tokens kept: " + minter.cachedTokenCount());
+
+        // Timing: JwtUtils per call vs cached minter
+        int rounds = 5000;
+        JwtMinter live = new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            JwtUtils.signJWT(payload, TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY);
+        }
+        long perCall = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            live.sign(payload);
+        }
+        long prepared = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            live.tokenForSigner(TestPayloads.SIGNER, "hector-ledger-test");
+        }
+        long cached = System.nanoTime() - start;
+        System.out.println("JwtUtils.signJWT:       " + (perCall / rounds) + " ns/op");
+        System.out.println("JwtMinter.sign:         " + (prepared / rounds) + " ns/op");
+        System.out.println("JwtMinter.token cached: " + (cached / rounds) + " ns/op");
+        System.out.println("JWT MINTER OK");
+    }
+
+    private static void verify(String token, long exp) throws Exception {
+        SignedJWT jwt = SignedJWT.parse(token);
+        OctetKeyPair publicJwk = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.from(TestPayloads.PUBLIC_KEY)).build();
+        TestPayloads.check(jwt.verify(new Ed25519Verifier(publicJwk)), "signature");
+        TestPayloads.check(TestPayloads.PUBLIC_KEY.equals(jwt.getHeader().getKeyID()), "kid");
+        TestPayloads.check(exp == jwt.getJWTClaimsSet().getExpirationTime().getTime() / 1000L, "exp");
+    }
+
+    // Clock that only moves when told to
+    static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.minka.security;
+
+import com.nimbusds.jwt.proc.BadJWTException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.time.*;
+import java.util.*;
+
+// Checks JwtVerifier acceptance rules and its verified-token cache
+public class JwtVerifierTest {
+    public static void main(String[] args) throws Exception {
+        JwtMinterTest.MutableClock clock = new JwtMinterTest.MutableClock(Instant.now());
+        String ledger = "hector-ledger-test";
+        JwtMinter minter = new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY,
+                Duration.ofSeconds(60), Duration.ofSeconds(10), clock);
+        JwtVerifier verifier = new JwtVerifier(ledger, Collections.singletonList(TestPayloads.PUBLIC_KEY),
+                100, Duration.ZERO, clock);
+
+        // Valid token, then served from the cache
+        String token = minter.tokenForSigner(TestPayloads.SIGNER, ledger);
+        JWTClaimsSet claims = verifier.verifyAuthorizationHeader("Bearer " + token);
+        TestPayloads.check(TestPayloads.SIGNER.equals(claims.getIssuer()), "iss");
+        TestPayloads.check(verifier.cachedTokenCount() == 1, "token should be cached");
+        TestPayloads.check(claims == verifier.verify(token), "second call should hit the cache");
+
+        // Wrong audience
+        expectFailure(verifier, minter.tokenForSigner(TestPayloads.SIGNER, "other-ledger"), "wrong aud");
+
+        // Untrusted key (kid not in the trusted set)
+        JwtVerifier strict = new JwtVerifier(ledger, Collections.singletonList("dGhpcyBpcyBub3QgdGhlIHJpZ2h0IGtleSEhISEhISE="));
+        expectFailure(strict, token, "untrusted kid");
+
+        // Tampered signature and malformed token
+        char last = token.charAt(token.length() - 2);
+        expectFailure(verifier, token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1),
+                "tampered signature");
+        expectFailure(verifier, "not.a.jwt", "malformed");
+
+        // Missing exp
+        Map<String, Object> noExp = new HashMap<>();
+        noExp.put("aud", ledger);
+        expectFailure(verifier, minter.sign(noExp), "missing exp");
+
+        // Expired: cached entry is dropped and the token rejected
+        clock.advance(61);
+        expectFailure(verifier, token, "expired");
+        TestPayloads.check(verifier.cachedTokenCount() == 0, "expired token should leave the cache");
+
+        // Full cache: new tokens are not cached until a purge (at most once per second) frees room
+        JwtVerifier small = new JwtVerifier(ledger, Collections.singletonList(TestPayloads.PUBLIC_KEY),
+                3, Duration.ZERO, clock);
+        Map<String, Object> distinct = new HashMap<>();
+        distinct.put("aud", ledger);
+        for (int i = 0; i < 5; i++) {
+            long nowSeconds = clock.millis() / 1000L;
+            distinct.put("iat", nowSeconds + i);
+            distinct.put("exp", nowSeconds + 60);
+            small.verify(minter.sign(distinct));
+        }
+        TestPayloads.check(small.cachedTokenCount() == 3, "cache bound: " + small.cachedTokenCount());
+        clock.advance(61);
+        distinct.put("exp", clock.millis() / 1000L + 60);
+        small.verify(minter.sign(distinct));
+        TestPayloads.check(small.cachedTokenCount() == 1, "expired tokens purged: " + small.cachedTokenCount());
+
+        // Timing: full verification vs cache hit
+        JwtVerifier live = new JwtVerifier(ledger, Collections.singletonList(TestPayloads.PUBLIC_KEY));
+        Map<String, Object> payload = new HashMap<>();
+        long now = System.currentTimeMillis() / 1000L;
+        payload.put("aud", ledger);
+        payload.put("exp", now + 600);
+        int rounds = 2000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            payload.put("iat", now + i); // Distinct tokens: always a full verification
+            live.verify(minter.sign(payload));
+        }
+        long signAndVerify = System.nanoTime() - start;
+        String fixed = minter.sign(payload);
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            live.verify(fixed);
+        }
+        long hits = System.nanoTime() - start;
+        System.out.println("sign + full verify: " + (signAndVerify / rounds) + " ns/op");
+        System.out.println("cached verify:      " + (hits / rounds) + " ns/op");
+        System.out.println("JWT VERIFIER OK");
+    }
+
+    private static void expectFailure(JwtVerifier verifier, String token, String label) {
+        try {
+            verifier.verify(token);
+        } catch (BadJWTException e) {
+            System.out.println("rejected (" + label + "): " + e.getMessage());
+            return;
+        }
+        throw new IllegalStateException("FAILED: " + label + " should be rejected");
+    }
+}
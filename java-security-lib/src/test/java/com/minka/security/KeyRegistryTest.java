@@ -0,0 +1,100 @@
+package com.minka.security;
+
+import java.nio.file.*;
+import java.security.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Checks KeyRegistry memoization and hot reload of rotated DER files
+public class KeyRegistryTest {
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("key-registry");
+        Files.copy(Paths.get(TestPayloads.DER_KEY_PATH), dir.resolve("htorohn-key.der"));
+
+        try (KeyRegistry registry = new KeyRegistry(dir)) {
+            KeyRegistry.SignerKeys first = registry.get("htorohn");
+            TestPayloads.check(first == registry.get("htorohn"), "keys should be loaded once and shared");
+            TestPayloads.check(first.getPublicKey() == null, "no public key file yet");
+            PrivateKey expected = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+            TestPayloads.check(Arrays.equals(expected.getEncoded(), first.getPrivateKey().getEncoded()), "private key");
+
+            List<Exception> errors = new CopyOnWriteArrayList<>();
+            registry.onError(errors::add);
+            registry.startWatching();
+
+            // Every entry readers see during the rotation must have a public key matching its private key
+            AtomicBoolean rotating = new AtomicBoolean(true);
+            List<String> mismatched = new CopyOnWriteArrayList<>();
+            Thread sampler = new Thread(() -> {
+                while (rotating.get()) {
+                    try {
+                        KeyRegistry.SignerKeys seen = registry.get("htorohn");
+                        if (seen.getPublicKey() != null && !matches(seen)) {
+                            mismatched.add("version " + seen.getVersion());
+                        }
+                    } catch (Exception e) {
+                        mismatched.add(e.toString());
+                    }
+                }
+            });
+            sampler.start();
+
+            // Rotate: write the new key pair to temp files and move them into place, public key first
+            KeyPair rotated = KeyPairGenerator.getInstance("Ed25519", "BC").generateKeyPair();
+            Path tmp = dir.resolve("rotate.tmp");
+            Files.write(tmp, rotated.getPublic().getEncoded());
+            Files.move(tmp, dir.resolve("htorohn-pub.der"), StandardCopyOption.ATOMIC_MOVE);
+            long errorDeadline = System.currentTimeMillis() + 15_000;
+            while (errors.isEmpty() && System.currentTimeMillis() < errorDeadline) {
+                Thread.sleep(20);
+            }
+            TestPayloads.check(!errors.isEmpty() && errors.get(0).getMessage().contains("does not match"),
+                    "new public key with the old private key should be reported: " + errors);
+            TestPayloads.check(registry.get("htorohn").getPublicKey() == null, "half-rotated keys must not be installed");
+            Files.write(tmp, rotated.getPrivate().getEncoded());
+            Files.move(tmp, dir.resolve("htorohn-key.der"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long deadline = System.currentTimeMillis() + 15_000;
+            KeyRegistry.SignerKeys current = registry.get("htorohn");
+            while ((current.getPublicKey() == null
+                    || !Arrays.equals(rotated.getPrivate().getEncoded(), current.getPrivateKey().getEncoded()))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                current = registry.get("htorohn");
+            }
+            TestPayloads.check(Arrays.equals(rotated.getPrivate().getEncoded(), current.getPrivateKey().getEncoded()),
+                    "rotated private key should be swapped in");
+            TestPayloads.check(current.getVersion() > first.getVersion(), "version should grow");
+            rotating.set(false);
+            sampler.join();
+            TestPayloads.check(mismatched.isEmpty(), "mismatched entries were visible: " + mismatched);
+
+            // The swapped-in engine signs with the new key
+            byte[] message = new byte[32];
+            Signature verify = Signature.getInstance("Ed25519", "BC");
+            verify.initVerify(current.getPublicKey());
+            verify.update(message);
+            TestPayloads.check(verify.verify(current.getEngine().sign(message)), "engine should use the rotated key");
+
+            // A broken file keeps the previous keys active
+            Files.write(tmp, new byte[]{1, 2, 3});
+            Files.move(tmp, dir.resolve("htorohn-key.der"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Thread.sleep(500);
+            TestPayloads.check(Arrays.equals(rotated.getPrivate().getEncoded(), registry.privateKey("htorohn").getEncoded()),
+                    "broken file must not replace the keys");
+            System.out.println("rotated to version " + registry.get("htorohn").getVersion());
+        }
+        System.out.println("KEY REGISTRY OK");
+    }
+
+    // True if the entry's public key verifies what its engine signs
+    private static boolean matches(KeyRegistry.SignerKeys keys) throws Exception {
+        byte[] message = new byte[32];
+        Signature verify = Signature.getInstance("Ed25519", "BC");
+        verify.initVerify(keys.getPublicKey());
+        verify.update(message);
+        return verify.verify(keys.getEngine().sign(message));
+    }
+}
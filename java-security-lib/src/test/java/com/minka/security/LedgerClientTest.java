@@ -0,0 +1,74 @@
+package com.minka.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+// Runs LedgerClient against the in-process StubLedgerServer
+public class LedgerClientTest {
+    public static void main(String[] args) throws Exception {
+        String ledger = "hector-ledger-test";
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        JwtMinter minter = new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY);
+        JwtVerifier jwtVerifier = new JwtVerifier(ledger, Collections.singletonList(TestPayloads.PUBLIC_KEY));
+
+        try (StubLedgerServer stub = new StubLedgerServer()) {
+            LedgerClient client = LedgerClient.builder()
+                    .server(stub.url())
+                    .ledger(ledger)
+                    .signer(TestPayloads.SIGNER, minter)
+                    .build();
+
+            // Anchor: body is the canonical JSON, headers carry ledger and token
+            Map<String, Object> anchor = proofBuilder.sign(TestPayloads.anchorData("3123454333"),
+                    TestPayloads.signatureCustom("active", Instant.now().toString())).toRequest();
+            LedgerClient.Response response = client.createAnchorAsync(anchor).get();
+            TestPayloads.check(response.getStatusCode() == 201 && response.isSuccess(), "status");
+            TestPayloads.check("/api/v2/anchors".equals(response.getBodyAsMap().get("path")), "response body");
+            StubLedgerServer.Received received = stub.received.get(0);
+            TestPayloads.check("POST".equals(received.method) && "/api/v2/anchors".equals(received.path), "path");
+            TestPayloads.check(HashUtils.serializeData(anchor).equals(new String(received.body, StandardCharsets.UTF_8)), "body");
+            TestPayloads.check(String.valueOf(received.body.length).equals(received.header("Content-Length")), "content-length");
+            TestPayloads.check(ledger.equals(received.header("x-ledger")), "x-ledger");
+            TestPayloads.check("application/json".equals(received.header("Content-Type")), "POST content-type");
+            TestPayloads.check(TestPayloads.SIGNER.equals(jwtVerifier.verifyAuthorizationHeader(received.header("Authorization")).getIssuer()),
+                    "Authorization");
+
+            // Large intent spanning several body chunks
+            Map<String, Object> intent = proofBuilder.sign(TestPayloads.intentData("20250101000000000ALI1", 300),
+                    TestPayloads.signatureCustom("created", Instant.now().toString())).toRequest();
+            client.post("/intents", intent);
+            TestPayloads.check(HashUtils.serializeData(intent).equals(new String(stub.received.get(1).body, StandardCharsets.UTF_8)),
+                    "large body");
+
+            // Error statuses are returned, not thrown
+            stub.respondWith(r -> 503);
+            TestPayloads.check(client.get("/anchors/3123454333").getStatusCode() == 503, "503 passthrough");
+            stub.respondWith(r -> 201);
+
+            // GET has no Content-Type; the anchor handle is sent as a single encoded path segment
+            client.getAnchorAsync("$tel:+1 555/01?x#y").get();
+            StubLedgerServer.Received get = stub.received.get(stub.received.size() - 1);
+            TestPayloads.check("GET".equals(get.method) && get.header("Content-Type") == null, "GET content-type");
+            TestPayloads.check("/api/v2/anchors/%24tel%3A%2B1%20555%2F01%3Fx%23y".equals(get.rawPath), "encoded handle: " + get.rawPath);
+            TestPayloads.check("/api/v2/anchors/$tel:+1 555/01?x#y".equals(get.path), "decoded handle: " + get.path);
+
+            // Many concurrent requests share the client's connection pool
+            int count = 300;
+            List<CompletableFuture<LedgerClient.Response>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                futures.add(client.createIntentAsync(intent));
+            }
+            for (CompletableFuture<LedgerClient.Response> f : futures) {
+                TestPayloads.check(f.join().isSuccess(), "async request failed");
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("%d async POSTs in %d ms (protocol %s)%n", count, nanos / 1_000_000, futures.get(0).join().getVersion());
+        }
+        System.out.println("LEDGER CLIENT OK");
+    }
+}
@@ -0,0 +1,84 @@
+package com.minka.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Checks NdjsonBulkSigner output order, envelopes, error lines and chunk boundaries; prints throughput
+public class NdjsonBulkSignerTest {
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ProofBuilder proofBuilder = new ProofBuilder(
+                KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH), TestPayloads.PUBLIC_KEY);
+        Map<String, Object> custom = TestPayloads.signatureCustom("active", Instant.now().toString());
+
+        Path dir = Files.createTempDirectory("ndjson");
+        Path input = dir.resolve("in.ndjson");
+        Path output = dir.resolve("out.ndjson");
+        int count = 3000;
+        int badLine = 1500;
+        List<Object> expected = new ArrayList<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            writer.write('﻿'); // Byte order mark on the first line
+            for (int i = 0; i < count; i++) {
+                if (i == badLine) {
+                    writer.write("{\"broken\": \n");
+                    expected.add(null);
+                    continue;
+                }
+                Map<String, Object> data = i % 3 == 0 ? TestPayloads.intentData("h" + i, i == 9 ? 300 : 2)
+                        : TestPayloads.anchorData("31234" + i);
+                data.put("note", "línea ✓ 😀 " + i);
+                writer.write(mapper.writeValueAsString(data));
+                writer.write(i % 2 == 0 ? "\r\n" : "\n");
+                if (i == 10) {
+                    writer.write("   \n"); // Blank lines are skipped
+                }
+                expected.add(mapper.readValue(mapper.writeValueAsString(data), LinkedHashMap.class));
+            }
+        }
+        System.out.println("input: " + Files.size(input) + " bytes");
+
+        // Small read buffer and window so lines span reads and the writer waits on the window
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        NdjsonBulkSigner small = new NdjsonBulkSigner(proofBuilder, pool, 8, 1000);
+        NdjsonBulkSigner.Summary summary = small.signFile(input, output, data -> custom);
+        TestPayloads.check(summary.getSigned() == count - 1 && summary.getFailed() == 1, "summary " + summary);
+        verify(mapper, output, expected, badLine + 2); // +1 for 1-based, +1 for the blank line
+
+        // Default settings, timed
+        NdjsonBulkSigner signer = new NdjsonBulkSigner(proofBuilder);
+        signer.signFile(input, output, data -> custom); // warm-up
+        long start = System.nanoTime();
+        summary = signer.signFile(input, output, data -> custom);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("NdjsonBulkSigner: %d lines in %.1f ms (%.0f lines/s)%n", count, seconds * 1000, count / seconds);
+        verify(mapper, output, expected, badLine + 2);
+        pool.shutdown();
+        System.out.println("NDJSON BULK SIGNER OK");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void verify(ObjectMapper mapper, Path output, List<Object> expected, long badLineNumber) throws Exception {
+        ProofVerifier verifier = new ProofVerifier();
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        TestPayloads.check(lines.size() == expected.size(), "one output line per input line");
+        for (int i = 0; i < lines.size(); i++) {
+            Map<String, Object> envelope = mapper.readValue(lines.get(i), LinkedHashMap.class);
+            if (expected.get(i) == null) {
+                TestPayloads.check(envelope.get("error") != null, "error entry");
+                TestPayloads.check(((Number) envelope.get("line")).longValue() == badLineNumber, "error line number");
+                continue;
+            }
+            TestPayloads.check(expected.get(i).equals(envelope.get("data")), "data in order at " + i);
+            TestPayloads.check(HashUtils.createHash(envelope.get("data")).equals(envelope.get("hash")), "hash at " + i);
+            TestPayloads.check(HashUtils.serializeData(envelope).equals(lines.get(i)), "canonical envelope at " + i);
+            TestPayloads.check(verifier.verifyRecord(envelope), "proof at " + i);
+        }
+    }
+}
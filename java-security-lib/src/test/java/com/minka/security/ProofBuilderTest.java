@@ -0,0 +1,82 @@
+package com.minka.security;
+
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+
+// Checks that ProofBuilder produces the same proof as the HashUtils + SignatureUtils steps
+public class ProofBuilderTest {
+    public static void main(String[] args) throws Exception {
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder builder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        String nowIso = Instant.now().toString();
+
+        Map<String, Object> anchorCustom = TestPayloads.signatureCustom("active", nowIso);
+        anchorCustom.put("domain", null);
+        Object[][] cases = {
+                {TestPayloads.anchorData("3123454333"), anchorCustom},
+                {TestPayloads.intentData("20250101000000000ALI1", 1), TestPayloads.signatureCustom("created", nowIso)},
+                {TestPayloads.intentData("20250101000000000ALI2", 100), TestPayloads.signatureCustom("created", nowIso)},
+                {TestPayloads.anchorData("3123454334"), null},
+        };
+
+        for (Object[] c : cases) {
+            Object data = c[0];
+            Object custom = c[1];
+
+            // Hand-built proof, as in AnchorApiSecurityTest / IntentApiSecurityTest
+            String hash = HashUtils.createHash(data);
+            String signatureDigest = HashUtils.createSignatureDigest(hash, custom);
+            String signatureBase64 = SignatureUtils.toBase64(SignatureUtils.signEd25519(signatureDigest, privateKey));
+            Map<String, Object> expected = new HashMap<>();
+            expected.put("method", "ed25519-v2");
+            expected.put("custom", custom);
+            expected.put("digest", signatureDigest);
+            expected.put("public", TestPayloads.PUBLIC_KEY);
+            expected.put("result", signatureBase64);
+
+            ProofBuilder.SignedRecord record = builder.sign(data, custom);
+            TestPayloads.check(hash.equals(record.getHash()), "hash mismatch");
+            TestPayloads.check(expected.equals(record.getProof()), "proof mismatch: " + record.getProof());
+            TestPayloads.check(expected.equals(builder.createProofForHash(hash, custom)), "proof-for-hash mismatch");
+            TestPayloads.check(HashUtils.serializeData(expected).equals(HashUtils.serializeData(builder.createProof(data, custom))),
+                    "serialized proof mismatch");
+            System.out.println("OK " + record.getHash() + " " + record.getProof().get("result"));
+        }
+
+        // Only lowercase hex is accepted: an uppercase hash would sign a different digest than createSignatureDigest
+        String anchorHash = HashUtils.createHash(TestPayloads.anchorData("3123454333"));
+        for (String bad : new String[] {anchorHash.toUpperCase(), anchorHash.substring(1), "g" + anchorHash.substring(1), ""}) {
+            try {
+                builder.createProofForHash(bad, null);
+                TestPayloads.check(false, "createProofForHash accepted " + bad);
+            } catch (IllegalArgumentException expected) {
+                // Rejected before signing
+            }
+        }
+
+        // Timing: hand-built proof vs ProofBuilder
+        Map<String, Object> data = TestPayloads.intentData("20250101000000000ALI3", 10);
+        Map<String, Object> custom = TestPayloads.signatureCustom("created", nowIso);
+        int rounds = 10000;
+        for (int i = 0; i < rounds; i++) { // warm-up
+            builder.createProof(data, custom);
+            SignatureUtils.signEd25519(HashUtils.createSignatureDigest(HashUtils.createHash(data), custom), privateKey);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            String hash = HashUtils.createHash(data);
+            String digest = HashUtils.createSignatureDigest(hash, custom);
+            SignatureUtils.toBase64(SignatureUtils.signEd25519(digest, privateKey));
+        }
+        long manual = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            builder.createProof(data, custom);
+        }
+        long built = System.nanoTime() - start;
+        System.out.println("Hand-built proof: " + (manual / rounds) + " ns/op");
+        System.out.println("ProofBuilder:     " + (built / rounds) + " ns/op");
+        System.out.println("PROOF BUILDER MATCHES");
+    }
+}
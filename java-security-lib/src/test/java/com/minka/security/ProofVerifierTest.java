@@ -0,0 +1,126 @@
+package com.minka.security;
+
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+
+// Checks ProofVerifier against proofs made by ProofBuilder, tampered records and batch throughput
+public class ProofVerifierTest {
+    public static void main(String[] args) throws Exception {
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        ProofVerifier verifier = new ProofVerifier();
+        String nowIso = Instant.now().toString();
+
+        // Valid anchor and intent records
+        Map<String, Object> anchor = proofBuilder.sign(TestPayloads.anchorData("3123454333"),
+                TestPayloads.signatureCustom("active", nowIso)).toRequest();
+        Map<String, Object> intent = proofBuilder.sign(TestPayloads.intentData("20250101000000000ALI1", 3),
+                TestPayloads.signatureCustom("created", nowIso)).toRequest();
+        TestPayloads.check(verifier.verifyRecord(anchor), "anchor should verify");
+        TestPayloads.check(verifier.verifyRecord(intent), "intent should verify");
+
+        // Record as parsed back from JSON (proofs become a List)
+        Map<String, Object> parsed = new com.fasterxml.jackson.databind.ObjectMapper()
+                .readValue(HashUtils.serializeData(intent), Map.class);
+        TestPayloads.check(verifier.verifyRecord(parsed), "parsed intent should verify");
+
+        // Tampered data, tampered custom, tampered signature, wrong key
+        Map<String, Object> tamperedData = proofBuilder.sign(TestPayloads.anchorData("3123454333"),
+                TestPayloads.signatureCustom("active", nowIso)).toRequest();
+        ((Map<String, Object>) tamperedData.get("data")).put("symbol", "usd");
+        tamperedData.remove("hash");
+        TestPayloads.check(!verifier.verifyRecord(tamperedData), "tampered data must fail");
+
+        Map<String, Object> proof = new HashMap<>(proofBuilder.createProof(anchor.get("data"),
+                TestPayloads.signatureCustom("active", nowIso)));
+        TestPayloads.check(verifier.verifyProof(anchor.get("data"), proof), "proof should verify");
+        proof.put("custom", TestPayloads.signatureCustom("rejected", nowIso));
+        proof.remove("digest");
+        TestPayloads.check(!verifier.verifyProof(anchor.get("data"), proof), "tampered custom must fail");
+
+        proof = new HashMap<>(proofBuilder.createProof(anchor.get("data"), null));
+        byte[] sig = Base64.getDecoder().decode((String) proof.get("result"));
+        sig[5] ^= 1;
+        proof.put("result", Base64.getEncoder().encodeToString(sig));
+        TestPayloads.check(!verifier.verifyProof(anchor.get("data"), proof), "tampered signature must fail");
+
+        proof = new HashMap<>(proofBuilder.createProof(anchor.get("data"), null));
+        proof.put("public", "dGhpcyBpcyBub3QgdGhlIHJpZ2h0IGtleSEhISEhISE=");
+        TestPayloads.check(!verifier.verifyProof(anchor.get("data"), proof), "wrong key must fail");
+
+        // verifyProofForHash takes the lowercase hex hash; odd-length, non-hex and uppercase input is rejected
+        String anchorHash = HashUtils.createHash(anchor.get("data"));
+        proof = proofBuilder.createProof(anchor.get("data"), null);
+        TestPayloads.check(verifier.verifyProofForHash(anchorHash, proof), "proof for hash should verify");
+        for (String bad : new String[] {anchorHash.substring(1), "zz" + anchorHash.substring(2), anchorHash.toUpperCase(), ""}) {
+            try {
+                verifier.verifyProofForHash(bad, proof);
+                TestPayloads.check(false, "verifyProofForHash accepted " + bad);
+            } catch (IllegalArgumentException expected) {
+                // Invalid input, not a silently different hash
+            }
+        }
+
+        // Malformed public keys fail the proof instead of throwing: bad Base64, wrong length, bad X.509
+        for (String garbage : new String[] {"not base64!", "AAAA", "MCowBQYDK2VwAyEA", Base64.getEncoder().encodeToString(new byte[44])}) {
+            proof = new HashMap<>(proofBuilder.createProof(anchor.get("data"), null));
+            proof.put("public", garbage);
+            TestPayloads.check(!verifier.verifyProof(anchor.get("data"), proof), "malformed key must fail: " + garbage);
+        }
+        // A valid proof next to one with a garbage public key: only the garbage one is reported
+        Map<String, Object> garbageProof = new HashMap<>(proofBuilder.createProof(anchor.get("data"), null));
+        garbageProof.put("public", "%%%garbage%%%");
+        Map<String, Object> mixed = new HashMap<>(anchor);
+        mixed.put("meta", Collections.singletonMap("proofs", Arrays.asList(
+                proofBuilder.createProof(anchor.get("data"), null), garbageProof)));
+        ProofVerifier.Result mixedResult = verifier.verifyRecordDetailed(mixed);
+        TestPayloads.check(!mixedResult.isValid() && mixedResult.getInvalidProofs().equals(Collections.singletonList(1)),
+                "garbage public key must fail only its own proof: " + mixedResult.getReason());
+
+        ProofVerifier.Result detailed = verifier.verifyRecordDetailed(Collections.singletonMap("data", anchor.get("data")));
+        TestPayloads.check(!detailed.isValid() && "no proofs".equals(detailed.getReason()), "missing proofs must fail");
+
+        // Key cache is bounded
+        ProofVerifier small = new ProofVerifier(1, java.util.concurrent.ForkJoinPool.commonPool());
+        small.verifyRecord(anchor);
+        small.verifyProof(anchor.get("data"), proof);
+        TestPayloads.check(small.cachedKeyCount() == 1, "key cache should be bounded");
+
+        // Many signers verified in parallel: every record is valid and the cache stays within its bound
+        java.security.KeyPairGenerator generator = java.security.KeyPairGenerator.getInstance("Ed25519");
+        List<Map<String, Object>> signed = new ArrayList<>();
+        for (int k = 0; k < 40; k++) {
+            java.security.KeyPair pair = generator.generateKeyPair();
+            byte[] x509 = pair.getPublic().getEncoded();
+            String raw = Base64.getEncoder().encodeToString(Arrays.copyOfRange(x509, x509.length - 32, x509.length));
+            ProofBuilder signer = new ProofBuilder(pair.getPrivate(), raw);
+            for (int i = 0; i < 5; i++) {
+                signed.add(signer.sign(TestPayloads.anchorData("k" + k + "-" + i), null).toRequest());
+            }
+        }
+        ProofVerifier bounded = new ProofVerifier(16, java.util.concurrent.ForkJoinPool.commonPool());
+        for (ProofVerifier.Result result : bounded.verifyAll(signed)) {
+            TestPayloads.check(result.isValid(), "multi-key record failed: " + result.getReason());
+        }
+        TestPayloads.check(bounded.cachedKeyCount() <= 16, "key cache over its bound: " + bounded.cachedKeyCount());
+
+        // Batch verification throughput
+        int count = 4000;
+        List<Map<String, Object>> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(proofBuilder.sign(TestPayloads.anchorData("31234" + i),
+                    TestPayloads.signatureCustom("active", nowIso)).toRequest());
+        }
+        verifier.verifyAll(records); // warm-up
+        long start = System.nanoTime();
+        List<ProofVerifier.Result> results = verifier.verifyAll(records);
+        long nanos = System.nanoTime() - start;
+        for (ProofVerifier.Result result : results) {
+            TestPayloads.check(result.isValid(), "batch record failed: " + result.getReason());
+        }
+        System.out.printf("verifyAll: %.0f records/s (%d processors)%n", count / (nanos / 1e9),
+                Runtime.getRuntime().availableProcessors());
+        System.out.println("PROOF VERIFIER OK");
+    }
+}
@@ -0,0 +1,108 @@
+package com.minka.security;
+
+import java.lang.management.ManagementFactory;
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+
+// Checks SecurityMetrics counters, histograms, error counts and the JMX beans
+// (the instrumentation overhead is measured by HashingBenchmark.hashDataInstrumented)
+public class SecurityMetricsTest {
+    public static void main(String[] args) throws Exception {
+        // Histogram buckets and percentiles
+        for (long v = 0; v < 1_000_000; v = v * 3 / 2 + 1) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.index(v));
+            TestPayloads.check(upper >= v && upper <= v + v / 8 + 1, "bucket bound for " + v);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        long p99 = histogram.percentile(0.99);
+        TestPayloads.check(p99 >= 990_000 && p99 <= 990_000 * 9 / 8, "p99 " + p99);
+        TestPayloads.check(histogram.max() == 1_000_000 && histogram.count() == 1000, "max and count");
+
+        // Off by default: listeners are not called
+        TestPayloads.check(!SecurityMetrics.isEnabled(), "disabled by default");
+        Map<String, Object> intent = TestPayloads.intentData("metrics", 50);
+        HashUtils.hashData(intent);
+
+        RecordingMetricsListener metrics = RecordingMetricsListener.install();
+        TestPayloads.check(SecurityMetrics.isEnabled(), "enabled after install");
+        String nowIso = Instant.now().toString();
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        int rounds = 200;
+        for (int i = 0; i < rounds; i++) {
+            proofBuilder.sign(intent, TestPayloads.signatureCustom("active", nowIso)); // HASH, SIGNATURE_DIGEST, SIGN
+        }
+        String hash = HashUtils.createHash(intent);
+        SignatureUtils.signEd25519(HashUtils.createSignatureDigest(hash, null), privateKey);
+        new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY).tokenForSigner(TestPayloads.SIGNER, "ledger");
+        JwtUtils.signJWT(Collections.singletonMap("iss", TestPayloads.SIGNER), TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY);
+        try {
+            KeyUtils.loadEd25519PublicKeyFromRawBase64("AAAA");
+        } catch (IllegalArgumentException expected) {
+            // Counted as a KEY_LOAD error
+        }
+
+        long documentBytes = HashUtils.serializeData(intent).getBytes("UTF-8").length;
+        metrics.get(SecurityMetrics.Operation.SERIALIZE).reset();
+        RecordingMetricsListener.OperationStats hashing = metrics.get(SecurityMetrics.Operation.HASH);
+        TestPayloads.check(hashing.getCount() == rounds + 1, "hash count " + hashing.getCount());
+        TestPayloads.check(hashing.getBytes() == documentBytes * (rounds + 1), "bytes hashed");
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.SIGNATURE_DIGEST).getCount() == rounds + 1, "digest count");
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.SIGN).getCount() == rounds + 1, "sign count");
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.JWT_SIGN).getCount() == 2, "jwt count");
+        // JWT signer key parsing is part of JWT_SIGN, not a KEY_LOAD: one DER load plus the bad raw key as an error
+        RecordingMetricsListener.OperationStats keys = metrics.get(SecurityMetrics.Operation.KEY_LOAD);
+        TestPayloads.check(keys.getCount() == 1 && keys.getErrorCount() == 1, "key loads " + keys);
+        // createHash / createSignatureDigest do not report a nested SERIALIZE
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.SERIALIZE).getCount() == 0,
+                "nested serialize " + metrics.get(SecurityMetrics.Operation.SERIALIZE));
+
+        // Cache misses serialize inside the enclosing HASH without a nested SERIALIZE
+        CanonicalCache cache = new CanonicalCache();
+        long hashesBefore = metrics.get(SecurityMetrics.Operation.HASH).getCount();
+        cache.hashData(intent);
+        cache.hashData(intent);
+        TestPayloads.check(cache.getMisses() > 0, "cache path not exercised");
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.HASH).getCount() == hashesBefore + 2, "cached hash count");
+        TestPayloads.check(metrics.get(SecurityMetrics.Operation.SERIALIZE).getCount() == 0,
+                "nested serialize on the cache path " + metrics.get(SecurityMetrics.Operation.SERIALIZE));
+
+        // SERIALIZE bytes are UTF-8 bytes, not chars
+        Map<String, Object> unicode = Collections.singletonMap("name", "Zoë € \uD83D\uDE00 \uD800");
+        long utf8 = HashUtils.serializeData(unicode).getBytes("UTF-8").length;
+        RecordingMetricsListener.OperationStats serialized = metrics.get(SecurityMetrics.Operation.SERIALIZE);
+        TestPayloads.check(serialized.getCount() == 1 && serialized.getBytes() == utf8,
+                "serialize bytes " + serialized.getBytes() + " != " + utf8);
+        RecordingMetricsListener.OperationStats signing = metrics.get(SecurityMetrics.Operation.SIGN);
+        TestPayloads.check(signing.getP50Micros() > 0 && signing.getP50Micros() <= signing.getP99Micros()
+                && signing.getP99Micros() <= signing.getMaxMicros(), "percentiles " + signing);
+        for (SecurityMetrics.Operation operation : SecurityMetrics.Operation.values()) {
+            System.out.println(metrics.get(operation));
+        }
+
+        // JMX
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Object count = server.getAttribute(RecordingMetricsListener.objectName(SecurityMetrics.Operation.SIGN), "Count");
+        TestPayloads.check(((Long) count) == rounds + 1, "JMX count");
+        Object jmxP99 = server.getAttribute(RecordingMetricsListener.objectName(SecurityMetrics.Operation.SIGN), "P99Micros");
+        System.out.println("JMX SIGN P99Micros=" + jmxP99);
+
+        // Any listener is called; setting null turns instrumentation off again
+        AtomicInteger calls = new AtomicInteger();
+        SecurityMetrics.setListener((operation, nanos, bytes, error) -> calls.incrementAndGet());
+        HashUtils.hashData(intent);
+        TestPayloads.check(calls.get() == 1, "listener called");
+        SecurityMetrics.setListener(null);
+        int before = calls.get();
+        HashUtils.hashData(intent);
+        TestPayloads.check(calls.get() == before && !SecurityMetrics.isEnabled(), "disabled again");
+        metrics.unregisterMBeans();
+        System.out.println("SECURITY METRICS OK");
+    }
+}
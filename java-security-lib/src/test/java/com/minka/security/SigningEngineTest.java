@@ -0,0 +1,98 @@
+package com.minka.security;
+
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Checks that a shared Ed25519SigningEngine gives the same signatures as SignatureUtils under heavy concurrency
+public class SigningEngineTest {
+    public static void main(String[] args) throws Exception {
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        Ed25519SigningEngine engine = new Ed25519SigningEngine(privateKey);
+
+        // Precompute digests and reference signatures sequentially
+        int count = 2000;
+        String nowIso = Instant.now().toString();
+        String[] digests = new String[count];
+        String[] expected = new String[count];
+        for (int i = 0; i < count; i++) {
+            String hash = HashUtils.createHash(TestPayloads.anchorData("31234" + i));
+            digests[i] = HashUtils.createSignatureDigest(hash, TestPayloads.signatureCustom("active", nowIso));
+            expected[i] = SignatureUtils.toBase64(SignatureUtils.signEd25519(digests[i], privateKey));
+        }
+
+        // Sign the same digests from 200 threads sharing one engine
+        ExecutorService pool = Executors.newFixedThreadPool(200);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int idx = i;
+            results.add(pool.submit(() -> SignatureUtils.toBase64(engine.signHexDigest(digests[idx]))));
+        }
+        for (int i = 0; i < count; i++) {
+            TestPayloads.check(expected[i].equals(results.get(i).get()), "signature mismatch at " + i);
+        }
+        pool.shutdown();
+
+        // A signer that failed is dropped, not handed out again
+        Ed25519Backend real = Ed25519Backends.current();
+        AtomicInteger created = new AtomicInteger();
+        Ed25519Backend flaky = new Ed25519Backend() {
+            public String getName() {
+                return "flaky";
+            }
+
+            public PrivateKey loadPrivateKey(byte[] pkcs8) throws java.security.GeneralSecurityException {
+                return real.loadPrivateKey(pkcs8);
+            }
+
+            public java.security.PublicKey loadPublicKey(byte[] x509) throws java.security.GeneralSecurityException {
+                return real.loadPublicKey(x509);
+            }
+
+            public Signer newSigner(PrivateKey key) throws java.security.GeneralSecurityException {
+                created.incrementAndGet();
+                Signer delegate = real.newSigner(key);
+                boolean[] broken = new boolean[1];
+                return message -> {
+                    if (broken[0] || message.length == 0) {
+                        broken[0] = true; // Stays broken once it failed
+                        throw new java.security.SignatureException("broken signer");
+                    }
+                    return delegate.sign(message);
+                };
+            }
+
+            public Verifier newVerifier() throws java.security.GeneralSecurityException {
+                return real.newVerifier();
+            }
+        };
+        Ed25519SigningEngine flakyEngine = new Ed25519SigningEngine(privateKey, 1, flaky);
+        try {
+            flakyEngine.sign(new byte[0]);
+            TestPayloads.check(false, "expected a signing failure");
+        } catch (java.security.SignatureException failed) {
+            // The failed signer must not return to the pool
+        }
+        byte[] digest = SignatureUtils.hexStringToByteArray(digests[0]);
+        TestPayloads.check(Arrays.equals(engine.sign(digest), flakyEngine.sign(digest)), "sign after a failure");
+        TestPayloads.check(created.get() == 2, "failed signer should be replaced, created " + created.get());
+
+        // Timing: per-call getInstance/initSign vs reused engine
+        int rounds = 20000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            SignatureUtils.signEd25519(digests[i % count], privateKey);
+        }
+        long perCall = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            engine.signHexDigest(digests[i % count]);
+        }
+        long reused = System.nanoTime() - start;
+        System.out.println("SignatureUtils.signEd25519: " + (perCall / rounds) + " ns/op");
+        System.out.println("Ed25519SigningEngine:       " + (reused / rounds) + " ns/op");
+        System.out.println("SIGNING ENGINE MATCHES");
+    }
+}
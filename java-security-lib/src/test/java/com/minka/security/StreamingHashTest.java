@@ -0,0 +1,41 @@
+package com.minka.security;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+// Checks that the streaming hasher produces exactly the same bytes and hashes as serializeData/createHash
+public class StreamingHashTest {
+    public static void main(String[] args) throws Exception {
+        List<Object> samples = new ArrayList<>();
+        samples.add(TestPayloads.anchorData("3123454333"));
+        samples.add(TestPayloads.intentData("20250101000000000ALI1", 1));
+        samples.add(TestPayloads.intentData("20250101000000000ALI2", 250));
+        samples.add(TestPayloads.signatureCustom("created", Instant.now().toString()));
+
+        // Edge cases: nulls, non-ASCII, escapes, numbers, nested arrays
+        Map<String, Object> edge = new HashMap<>();
+        edge.put("domain", null);
+        edge.put("name", "Jos\u00e9 N\u00fa\u00f1ez \u2013 \u5317\u4eac \ud83d\ude80 lone\ud83d end");
+        edge.put("escaped", "quote\" backslash\\ newline\n tab\t ctrl\u0001 lowonly\ude80");
+        edge.put("numbers", new Object[]{0, -1, 3.25, Long.MAX_VALUE, 1e-7});
+        edge.put("nested", Arrays.asList(Collections.singletonMap("z", 1), Collections.emptyMap(), new int[0]));
+        edge.put("flag", true);
+        edge.put("long", "x" + "\ud83d\ude80\u00e9\u4eac".repeat(3000));
+        samples.add(edge);
+
+        for (Object sample : samples) {
+            byte[] expected = HashUtils.serializeData(sample).getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            HashUtils.writeCanonical(sample, out);
+            TestPayloads.check(Arrays.equals(expected, out.toByteArray()), "streamed JSON differs from serializeData");
+
+            String hash = HashUtils.createHash(sample);
+            String streamed = HashUtils.createHashStreaming(sample);
+            TestPayloads.check(hash.equals(streamed), "streamed hash differs: " + hash + " vs " + streamed);
+            System.out.println("OK " + expected.length + " bytes -> " + streamed);
+        }
+        System.out.println("STREAMING HASH MATCHES");
+    }
+}
@@ -0,0 +1,104 @@
+package com.minka.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// In-process stand-in for the ledger API: records requests and answers with a configurable status
+public class StubLedgerServer implements AutoCloseable {
+    // One received request
+    public static class Received {
+        public final String method;
+        public final String path;
+        public final String rawPath; // Path as sent, before percent-decoding
+        public final Map<String, List<String>> headers;
+        public final byte[] body;
+
+        Received(String method, String path, String rawPath, Map<String, List<String>> headers, byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.rawPath = rawPath;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String header(String name) {
+            for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+                if (e.getKey() != null && e.getKey().equalsIgnoreCase(name)) {
+                    return e.getValue().get(0);
+                }
+            }
+            return null;
+        }
+    }
+
+    public final List<Received> received = new CopyOnWriteArrayList<>();
+    public final AtomicInteger inFlight = new AtomicInteger();
+    public final AtomicInteger maxInFlight = new AtomicInteger();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private volatile Function<Received, Integer> status = r -> 201;
+    private volatile long delayMillis;
+
+    public StubLedgerServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    // Base URL, e.g. http://127.0.0.1:12345/api/v2
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2";
+    }
+
+    // Chooses the response status per request
+    public void respondWith(Function<Received, Integer> status) {
+        this.status = status;
+    }
+
+    // Delays every response (to observe requests in flight)
+    public void delay(long millis) {
+        this.delayMillis = millis;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Received r = new Received(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                    exchange.getRequestURI().getRawPath(),
+                    new HashMap<>(exchange.getRequestHeaders()), body);
+            received.add(r);
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            int code = status.apply(r);
+            byte[] response = ("{\"status\":" + code + ",\"path\":\"" + r.path + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, response.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow(); // Also wakes handlers sleeping in delay()
+    }
+}
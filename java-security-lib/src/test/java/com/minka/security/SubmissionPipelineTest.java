@@ -0,0 +1,128 @@
+package com.minka.security;
+
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+// Runs SubmissionPipeline against StubLedgerServer: in-flight limit, 5xx retries and queue depths
+public class SubmissionPipelineTest {
+    public static void main(String[] args) throws Exception {
+        String ledger = "hector-ledger-test";
+        PrivateKey privateKey = KeyUtils.loadEd25519PrivateKeyFromDerFile(TestPayloads.DER_KEY_PATH);
+        ProofBuilder proofBuilder = new ProofBuilder(privateKey, TestPayloads.PUBLIC_KEY);
+        String nowIso = Instant.now().toString();
+
+        try (StubLedgerServer stub = new StubLedgerServer()) {
+            // Every body is rejected with 503 on its first attempt, then accepted
+            Map<String, Integer> attemptsByBody = new ConcurrentHashMap<>();
+            stub.respondWith(r -> attemptsByBody.merge(new String(r.body), 1, Integer::sum) == 1 ? 503 : 201);
+            stub.delay(5);
+
+            LedgerClient client = LedgerClient.builder()
+                    .server(stub.url())
+                    .ledger(ledger)
+                    .signer(TestPayloads.SIGNER, new JwtMinter(TestPayloads.SECRET_KEY, TestPayloads.PUBLIC_KEY))
+                    .build();
+            SubmissionPipeline pipeline = SubmissionPipeline.builder()
+                    .proofBuilder(proofBuilder)
+                    .client(client)
+                    .path("/intents")
+                    .queueCapacity(32)
+                    .maxInFlight(8)
+                    .retries(3, Duration.ofMillis(20), Duration.ofMillis(200))
+                    .build();
+
+            int count = 400;
+            List<CompletableFuture<SubmissionPipeline.Result>> futures = new ArrayList<>();
+            int maxQueued = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                final String handle = "20250101000000000ALI" + i;
+                futures.add(pipeline.submit(() -> TestPayloads.intentData(handle, 3), TestPayloads.signatureCustom("created", nowIso)));
+                if (i % 50 == 0) {
+                    System.out.println("queue depths " + pipeline.queueDepths() + " in flight " + pipeline.inFlight());
+                }
+                for (int depth : pipeline.queueDepths().values()) {
+                    maxQueued = Math.max(maxQueued, depth);
+                }
+            }
+            for (CompletableFuture<SubmissionPipeline.Result> f : futures) {
+                SubmissionPipeline.Result result = f.join();
+                TestPayloads.check(result.isSuccess(), "submission failed: " + result.getError());
+                TestPayloads.check(result.getAttempts() == 2, "expected one retry, got " + result.getAttempts());
+            }
+            long nanos = System.nanoTime() - start;
+            pipeline.close();
+
+            TestPayloads.check(stub.received.size() == 2 * count, "requests sent: " + stub.received.size());
+            TestPayloads.check(attemptsByBody.size() == count, "retries must re-send the same body (hash and proof)");
+            TestPayloads.check(stub.maxInFlight.get() <= 8, "in-flight limit exceeded: " + stub.maxInFlight.get());
+            TestPayloads.check(maxQueued <= 32, "queue bound exceeded");
+            TestPayloads.check(pipeline.pending() == 0, "pending after close");
+
+            // Permanent 5xx: gives up after the configured retries; 4xx is not retried
+            SubmissionPipeline failing = SubmissionPipeline.builder()
+                    .proofBuilder(proofBuilder).client(client)
+                    .retries(2, Duration.ofMillis(5), Duration.ofMillis(10))
+                    .build();
+            stub.respondWith(r -> 500);
+            SubmissionPipeline.Result gaveUp = failing.submit(TestPayloads.intentData("X1", 1), null).join();
+            TestPayloads.check(!gaveUp.isSuccess() && gaveUp.getAttempts() == 3 && gaveUp.getResponse().getStatusCode() == 500, "give up");
+            stub.respondWith(r -> 409);
+            SubmissionPipeline.Result conflict = failing.submit(TestPayloads.intentData("X2", 1), null).join();
+            TestPayloads.check(conflict.getAttempts() == 1 && conflict.getResponse().getStatusCode() == 409, "4xx not retried");
+
+            // A payload that cannot be serialized fails alone
+            SubmissionPipeline.Result bad = failing.submit(Collections.singletonMap("bad", new Object()), null).join();
+            TestPayloads.check(bad.getError() != null && bad.getAttempts() == 0, "stage failure");
+            failing.close();
+
+            // A failure that is not I/O (here an invalid request URI) is not retried
+            SubmissionPipeline badPath = SubmissionPipeline.builder()
+                    .proofBuilder(proofBuilder).client(client)
+                    .path("/not a path")
+                    .retries(2, Duration.ofMillis(5), Duration.ofMillis(10))
+                    .build();
+            SubmissionPipeline.Result invalid = badPath.submit(TestPayloads.intentData("X3", 1), null).join();
+            TestPayloads.check(invalid.getError() instanceof IllegalArgumentException && invalid.getAttempts() == 1,
+                    "non-I/O failure retried: " + invalid.getAttempts() + " " + invalid.getError());
+            badPath.close();
+
+            // close(Duration) gives up on a ledger that never answers in time and fails what is left
+            stub.respondWith(r -> 201);
+            stub.delay(2_000);
+            SubmissionPipeline slow = SubmissionPipeline.builder()
+                    .proofBuilder(proofBuilder).client(client)
+                    .build();
+            CompletableFuture<SubmissionPipeline.Result> stuck = slow.submit(TestPayloads.intentData("X4", 1), null);
+            long closeStart = System.nanoTime();
+            boolean drained = slow.close(Duration.ofMillis(200));
+            long closeMillis = (System.nanoTime() - closeStart) / 1_000_000;
+            TestPayloads.check(!drained && closeMillis < 1_500, "close must be bounded, took " + closeMillis + " ms");
+            SubmissionPipeline.Result timedOut = stuck.join();
+            TestPayloads.check(timedOut.getError() instanceof TimeoutException, "outstanding work must fail on close");
+            TestPayloads.check(slow.pending() == 0, "pending after timed-out close");
+
+            // close() is not interruptible: an interrupted caller still stops the pipeline, fails the
+            // outstanding work with the InterruptedException and keeps its interrupt flag
+            SubmissionPipeline interrupted = SubmissionPipeline.builder()
+                    .proofBuilder(proofBuilder).client(client)
+                    .build();
+            CompletableFuture<SubmissionPipeline.Result> cut = interrupted.submit(TestPayloads.intentData("X5", 1), null);
+            Thread.currentThread().interrupt();
+            interrupted.close();
+            TestPayloads.check(Thread.interrupted(), "interrupt flag must be restored");
+            TestPayloads.check(cut.join().getError() instanceof InterruptedException, "outstanding work must fail on interrupt");
+            TestPayloads.check(interrupted.pending() == 0, "pending after interrupted close");
+            stub.delay(0);
+
+            System.out.printf("%d intents (with one 503 retry each) in %d ms, max in flight %d%n",
+                    count, nanos / 1_000_000, stub.maxInFlight.get());
+        }
+        System.out.println("SUBMISSION PIPELINE OK");
+    }
+}